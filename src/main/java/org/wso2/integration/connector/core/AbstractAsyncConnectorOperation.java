@@ -0,0 +1,266 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import com.google.gson.JsonElement;
+import org.apache.axiom.om.OMElement;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.FaultHandler;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.continuation.ContinuationStackManager;
+import org.apache.synapse.data.connector.ConnectorResponse;
+import org.apache.synapse.mediators.ext.ClassMediator;
+import org.apache.synapse.mediators.template.TemplateContext;
+import org.apache.synapse.mediators.template.TemplateMediator;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+import org.wso2.integration.connector.core.util.ConnectorUtils;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AbstractAsyncConnectorOperation is the non-blocking variant of {@link AbstractConnectorOperation}.
+ * The operation starts the backend call and returns a future of the response instead of waiting for it,
+ * which releases the Synapse worker thread. Once the future completes, the response is handled with
+ * handleConnectorResponse and mediation resumes from the continuation state of the message on a worker thread.
+ * If the future is already completed when executeAsync returns, the message is processed synchronously.
+ */
+public abstract class AbstractAsyncConnectorOperation extends AbstractConnector {
+
+    private static final Log log = LogFactory.getLog(AbstractAsyncConnectorOperation.class);
+
+    private static final ScheduledExecutorService DEADLINE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "connector-operation-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // Position of the class mediator running this operation within its template, resolved on the first suspension
+    private volatile Integer continuationPosition;
+
+    /**
+     * This method is an abstract method that must be implemented by subclasses.
+     * It starts the connector operation and returns without waiting for the backend response.
+     * The payload of the returned response can be a String, a JsonElement or an OMElement.
+     *
+     * @param messageContext   The message context to be used for the operation.
+     * @param responseVariable The variable name to store the response.
+     * @param overwriteBody    A flag indicating whether to overwrite the body of the message context.
+     * @return a future that completes with the response of the operation
+     * @throws ConnectException If an error occurs while starting the operation.
+     */
+    public abstract CompletableFuture<ConnectorResponse> executeAsync(MessageContext messageContext,
+                                                                      String responseVariable, Boolean overwriteBody)
+            throws ConnectException;
+
+    @Override
+    public void connect(MessageContext messageContext) throws ConnectException {
+
+        String responseVariable = getMediatorParameter(
+                messageContext, Constants.RESPONSE_VARIABLE, String.class, false);
+        Boolean overwriteBody = getMediatorParameter(
+                messageContext, Constants.OVERWRITE_BODY, Boolean.class, false);
+        Object previousDeadline = messageContext.getProperty(Constants.PROPERTY_DEADLINE);
+        try {
+            CompletableFuture<ConnectorResponse> future = start(messageContext, responseVariable, overwriteBody);
+            applyResponse(messageContext, responseVariable, overwriteBody, future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted while waiting for the connector operation.");
+        } catch (ExecutionException e) {
+            throw toConnectException(e.getCause());
+        } finally {
+            Deadline.restore(messageContext, previousDeadline);
+        }
+    }
+
+    @Override
+    public boolean mediate(MessageContext messageContext) {
+
+        String responseVariable = getMediatorParameter(
+                messageContext, Constants.RESPONSE_VARIABLE, String.class, false);
+        Boolean overwriteBody = getMediatorParameter(
+                messageContext, Constants.OVERWRITE_BODY, Boolean.class, false);
+        // The operation timeout applies to this operation only, hence the previous deadline is restored after it
+        Object previousDeadline = messageContext.getProperty(Constants.PROPERTY_DEADLINE);
+        CompletableFuture<ConnectorResponse> future;
+        try {
+            future = start(messageContext, responseVariable, overwriteBody);
+        } catch (ConnectException e) {
+            Deadline.restore(messageContext, previousDeadline);
+            throw new SynapseException("Error occurred when connecting conenctor. Details :", e);
+        }
+        if (future.isDone() || !messageContext.isContinuationEnabled()
+                || getContinuationPosition(messageContext) < 0) {
+            // Nothing to gain from suspending the message, or it cannot be resumed, hence complete it on the current
+            // thread
+            try {
+                applyResponse(messageContext, responseVariable, overwriteBody, future.join());
+            } catch (CompletionException e) {
+                throw new SynapseException("Error occurred when connecting conenctor. Details :",
+                        toConnectException(e.getCause()));
+            } finally {
+                Deadline.restore(messageContext, previousDeadline);
+            }
+            return true;
+        }
+        // Mediation is resumed from the mediator next to this one once the response is received
+        ContinuationStackManager.updateSeqContinuationState(messageContext, getContinuationPosition(messageContext));
+        Executor executor = messageContext.getEnvironment().getExecutorService();
+        future.whenCompleteAsync((response, error) -> resume(messageContext, responseVariable, overwriteBody,
+                previousDeadline, response, error), executor);
+        return false;
+    }
+
+    /**
+     * Retrieves the position from which mediation is resumed once the response is received. Synapse runs the
+     * operation through a class mediator in the template of the operation, hence the position is that of the class
+     * mediator within the template. The position of this instance is not set as it is not a child of the template.
+     *
+     * @param messageContext The message context of the operation.
+     * @return the position, -1 if the operation is not run by a class mediator directly in its template
+     */
+    private int getContinuationPosition(MessageContext messageContext) {
+
+        Integer position = continuationPosition;
+        if (position == null) {
+            position = resolveContinuationPosition(messageContext);
+            if (position < 0) {
+                log.warn("Unable to find the position of the connector operation in its template. The operation "
+                        + "is completed without suspending the message.");
+            }
+            continuationPosition = position;
+        }
+        return position;
+    }
+
+    private int resolveContinuationPosition(MessageContext messageContext) {
+
+        Stack<TemplateContext> funcStack =
+                (Stack) messageContext.getProperty(SynapseConstants.SYNAPSE__FUNCTION__STACK);
+        if (funcStack == null || funcStack.isEmpty()) {
+            return -1;
+        }
+        Mediator template = messageContext.getSequenceTemplate(funcStack.peek().getName());
+        if (!(template instanceof TemplateMediator)) {
+            return -1;
+        }
+        List<Mediator> mediators = ((TemplateMediator) template).getList();
+        for (int i = 0; i < mediators.size(); i++) {
+            Mediator mediator = mediators.get(i);
+            if (mediator instanceof ClassMediator && ((ClassMediator) mediator).getMediator() == this) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private CompletableFuture<ConnectorResponse> start(MessageContext messageContext, String responseVariable,
+                                                       Boolean overwriteBody) throws ConnectException {
+
+        Integer operationTimeout = getMediatorParameter(
+                messageContext, Constants.OPERATION_TIMEOUT, Integer.class, true);
+        if (operationTimeout != null && operationTimeout > 0) {
+            Deadline.set(messageContext, Deadline.after(operationTimeout));
+        }
+        Deadline deadline = Deadline.from(messageContext);
+        if (deadline != null) {
+            deadline.check("executing the connector operation");
+        }
+        CompletableFuture<ConnectorResponse> future = executeAsync(messageContext, responseVariable, overwriteBody);
+        if (deadline != null && !future.isDone()) {
+            ScheduledFuture<?> timeout = DEADLINE_SCHEDULER.schedule(() -> future.completeExceptionally(
+                    new DeadlineExceededException("Deadline exceeded while executing the connector operation.")),
+                    deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+            future.whenComplete((response, error) -> timeout.cancel(false));
+        }
+        return future;
+    }
+
+    private void resume(MessageContext messageContext, String responseVariable, Boolean overwriteBody,
+                        Object previousDeadline, ConnectorResponse response, Throwable error) {
+
+        Deadline.restore(messageContext, previousDeadline);
+        try {
+            if (error != null) {
+                throw toConnectException(error);
+            }
+            applyResponse(messageContext, responseVariable, overwriteBody, response);
+        } catch (Exception e) {
+            handleAsyncFault(messageContext, e);
+            return;
+        }
+        messageContext.getEnvironment().mediateFromContinuationStateStack(messageContext);
+    }
+
+    private void handleAsyncFault(MessageContext messageContext, Exception e) {
+
+        log.error("Error occurred while executing the connector operation.", e);
+        if (messageContext.getProperty(Constants.PROPERTY_ERROR_CODE) == null) {
+            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.GENERAL_ERROR,
+                    Constants.GENERAL_ERROR_MSG + e.getMessage());
+        }
+        Stack<FaultHandler> faultStack = messageContext.getFaultStack();
+        if (faultStack != null && !faultStack.isEmpty()) {
+            faultStack.pop().handleFault(messageContext, e);
+        }
+    }
+
+    private void applyResponse(MessageContext messageContext, String responseVariable, Boolean overwriteBody,
+                               ConnectorResponse response) {
+
+        Object payload = response != null ? response.getPayload() : null;
+        if (payload instanceof OMElement) {
+            handleConnectorResponse(messageContext, responseVariable, overwriteBody, (OMElement) payload,
+                    response.getHeaders(), response.getAttributes());
+        } else if (payload instanceof JsonElement) {
+            handleConnectorResponse(messageContext, responseVariable, overwriteBody, (JsonElement) payload,
+                    response.getHeaders(), response.getAttributes());
+        } else if (payload != null) {
+            handleConnectorResponse(messageContext, responseVariable, overwriteBody, payload.toString(),
+                    response.getHeaders(), response.getAttributes());
+        } else {
+            messageContext.setVariable(responseVariable, response);
+        }
+    }
+
+    private static ConnectException toConnectException(Throwable error) {
+
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof ConnectException) {
+            return (ConnectException) error;
+        }
+        return new ConnectException(error, "Error occurred while executing the connector operation.");
+    }
+}
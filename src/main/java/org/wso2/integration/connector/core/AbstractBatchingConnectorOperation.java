@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.data.connector.ConnectorResponse;
+import org.wso2.integration.connector.core.batch.MicroBatcher;
+import org.wso2.integration.connector.core.connection.Connection;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AbstractBatchingConnectorOperation is a non-blocking connector operation for backends with bulk endpoints.
+ * Requests of concurrent messages are collected into batches per connection, and each batch is executed as
+ * a single backend call over one pooled connection. The per-item results are then delivered back to the
+ * response variable of each waiting message.
+ *
+ * @param <I> type of the batch items
+ */
+public abstract class AbstractBatchingConnectorOperation<I> extends AbstractAsyncConnectorOperation {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final long DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+    private static final long DEFAULT_LINGER_MILLIS = 10;
+
+    private final Map<String, MicroBatcher<I, ConnectorResponse>> batchers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the name of the connector, used to borrow the connection of the batch
+     *
+     * @return name of the connector
+     */
+    protected abstract String getConnectorName();
+
+    /**
+     * Returns the name of the connection used by the message
+     *
+     * @param messageContext The message context of the operation.
+     * @return name of the connection
+     */
+    protected abstract String getConnectionName(MessageContext messageContext);
+
+    /**
+     * Extracts the batch item of the message. Called on the thread processing the message.
+     *
+     * @param messageContext The message context of the operation.
+     * @return the batch item
+     * @throws ConnectException If the item could not be created from the message.
+     */
+    protected abstract I createBatchItem(MessageContext messageContext) throws ConnectException;
+
+    /**
+     * Executes a batch with a single backend call.
+     *
+     * @param connection The pooled connection borrowed for the batch.
+     * @param items      Items of the batch.
+     * @return the responses of the items, in the same order as the items
+     * @throws ConnectException If the batch failed.
+     */
+    protected abstract List<ConnectorResponse> executeBatch(Connection connection, List<I> items)
+            throws ConnectException;
+
+    /**
+     * Returns the size of the item in bytes. Override to enable the byte volume trigger.
+     *
+     * @param item The batch item.
+     * @return size of the item in bytes
+     */
+    protected long getItemSize(I item) {
+
+        return 0;
+    }
+
+    protected int getMaxBatchSize() {
+
+        return DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    protected long getMaxBatchBytes() {
+
+        return DEFAULT_MAX_BATCH_BYTES;
+    }
+
+    protected long getLingerMillis() {
+
+        return DEFAULT_LINGER_MILLIS;
+    }
+
+    @Override
+    public CompletableFuture<ConnectorResponse> executeAsync(MessageContext messageContext, String responseVariable,
+                                                             Boolean overwriteBody) throws ConnectException {
+
+        String connectionName = getConnectionName(messageContext);
+        I item = createBatchItem(messageContext);
+        MicroBatcher<I, ConnectorResponse> batcher = batchers.computeIfAbsent(connectionName,
+                name -> new MicroBatcher<>(getMaxBatchSize(), getMaxBatchBytes(), getLingerMillis(),
+                        messageContext.getEnvironment().getExecutorService(), (items, deadline) -> execute(name, items, deadline)));
+        return batcher.submit(item, getItemSize(item), Deadline.from(messageContext));
+    }
+
+    /**
+     * Executes the batch over a pooled connection, borrowed within the earliest deadline of the items.
+     */
+    private List<ConnectorResponse> execute(String connectionName, List<I> items, Deadline deadline)
+            throws ConnectException {
+
+        ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+        Connection connection = handler.getConnection(getConnectorName(), connectionName, deadline);
+        try {
+            return executeBatch(connection, items);
+        } finally {
+            handler.returnConnection(getConnectorName(), connectionName, connection);
+        }
+    }
+}
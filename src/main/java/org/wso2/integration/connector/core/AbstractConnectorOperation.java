@@ -17,8 +17,21 @@
  */
 package org.wso2.integration.connector.core;
 
+import com.google.gson.JsonElement;
+import org.apache.axiom.om.OMElement;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.data.connector.ConnectorResponse;
+import org.apache.synapse.data.connector.DefaultConnectorResponse;
+import org.wso2.integration.connector.core.cache.TtlCache;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+import org.wso2.integration.connector.core.retry.RetryHandler;
 import org.wso2.integration.connector.core.util.Constants;
+import org.wso2.integration.connector.core.util.SingleFlight;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * AbstractConnectorOperation is an abstract class that extends the AbstractConnector class.
@@ -30,6 +43,14 @@ import org.wso2.integration.connector.core.util.Constants;
  */
 public abstract class AbstractConnectorOperation extends AbstractConnector {
 
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_CACHE_MAX_BYTES = 16 * 1024 * 1024;
+
+    private static final ThreadLocal<CachedResponse[]> CAPTURED_RESPONSE = new ThreadLocal<>();
+
+    private final SingleFlight<String, Object> inFlightOperations = new SingleFlight<>();
+    private volatile TtlCache<String, CachedResponse> responseCache;
+
     /**
      * This method is an abstract method that must be implemented by subclasses.
      * It defines the contract for executing a connector operation with a message context,
@@ -50,6 +71,343 @@ public abstract class AbstractConnectorOperation extends AbstractConnector {
                                                       );
         Boolean overwriteBody = getMediatorParameter(
                 messageContext, Constants.OVERWRITE_BODY, Boolean.class, false);
-        execute(messageContext, responseVariable, overwriteBody);
+        Integer operationTimeout = getMediatorParameter(
+                messageContext, Constants.OPERATION_TIMEOUT, Integer.class, true);
+        // The operation timeout applies to this operation only, hence the previous deadline is restored after it
+        Object previousDeadline = messageContext.getProperty(Constants.PROPERTY_DEADLINE);
+        if (operationTimeout != null && operationTimeout > 0) {
+            Deadline.set(messageContext, Deadline.after(operationTimeout));
+        }
+        try {
+            executeWithinDeadline(messageContext, responseVariable, overwriteBody);
+        } finally {
+            Deadline.restore(messageContext, previousDeadline);
+        }
+    }
+
+    private void executeWithinDeadline(MessageContext messageContext, String responseVariable,
+                                       Boolean overwriteBody) throws ConnectException {
+
+        Deadline deadline = getDeadline(messageContext);
+        if (deadline != null) {
+            deadline.check("executing the connector operation");
+        }
+        String cacheKey = getCacheKey(messageContext);
+        if (cacheKey != null) {
+            CachedResponse cached = getResponseCache().get(cacheKey);
+            if (cached != null) {
+                // Served from the cache without borrowing a connection
+                cached.apply(this, messageContext, responseVariable, overwriteBody);
+                return;
+            }
+        }
+        // Responses written to the message body cannot be shared, hence only the variable responses are coalesced
+        String coalescingKey = (overwriteBody == null || !overwriteBody) ? getCoalescingKey(messageContext) : null;
+        if (coalescingKey == null) {
+            executeAndCache(messageContext, responseVariable, overwriteBody, cacheKey);
+            return;
+        }
+        // The shared snapshot is taken before any caller can modify the response and is never handed out itself
+        Object snapshot = inFlightOperations.execute(coalescingKey, () -> {
+            executeAndCache(messageContext, responseVariable, overwriteBody, cacheKey);
+            return copyResponse(messageContext.getVariable(responseVariable));
+        }, deadline);
+        messageContext.setVariable(responseVariable, copyResponse(snapshot));
+    }
+
+    /**
+     * Returns the key identifying the request of the message, to coalesce identical concurrent requests.
+     * Concurrent messages with the same key share a single execution of the operation and each of them receives
+     * its own copy of the response. Only idempotent operations should enable coalescing, and the key should
+     * include the connection and all the parameters that affect the response.
+     *
+     * @param messageContext The message context of the operation.
+     * @return the request key, or null to execute the operation without coalescing
+     */
+    protected String getCoalescingKey(MessageContext messageContext) {
+
+        return null;
+    }
+
+    /**
+     * Returns the parameters of the request that identify its response, to cache the responses of the operation.
+     * Only idempotent read operations should enable caching, and the parameters should include the connection
+     * and all the values that affect the response. The parameters are normalized, hence their order does not matter.
+     *
+     * @param messageContext The message context of the operation.
+     * @return the request parameters, or null to execute the operation without caching
+     */
+    protected Map<String, Object> getCacheKeyParameters(MessageContext messageContext) {
+
+        return null;
+    }
+
+    /**
+     * Returns the time to live of the cached responses of the operation. Caching is disabled if it is not positive.
+     *
+     * @param messageContext The message context of the operation.
+     * @return time to live in milliseconds
+     */
+    protected long getCacheTtlMillis(MessageContext messageContext) {
+
+        return 0;
+    }
+
+    /**
+     * Checks whether the response of the operation can be cached and served to other messages. By default only
+     * successful responses are cached: a response is not cached if the operation set an error code on the message,
+     * or if its statusCode attribute is not a 2xx status code. Override to cache other responses as well.
+     *
+     * @param messageContext The message context of the operation.
+     * @param payload        The payload of the response.
+     * @param headers        The headers of the response, can be null.
+     * @param attributes     The attributes of the response, can be null.
+     * @return true if the response can be cached
+     */
+    protected boolean isCacheable(MessageContext messageContext, Object payload, Map<String, Object> headers,
+                                  Map<String, Object> attributes) {
+
+        if (messageContext.getProperty(Constants.PROPERTY_ERROR_CODE) != null) {
+            return false;
+        }
+        Object statusCode = attributes != null ? attributes.get(Constants.STATUS_CODE) : null;
+        if (statusCode == null) {
+            return true;
+        }
+        try {
+            int status = Integer.parseInt(statusCode.toString().trim());
+            return status >= 200 && status < 300;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    protected int getCacheMaxEntries() {
+
+        return DEFAULT_CACHE_MAX_ENTRIES;
+    }
+
+    protected long getCacheMaxBytes() {
+
+        return DEFAULT_CACHE_MAX_BYTES;
+    }
+
+    /**
+     * Removes the cached responses of the operation, e.g. after an operation modifying the backend data.
+     */
+    protected void invalidateCache() {
+
+        if (responseCache != null) {
+            responseCache.clear();
+        }
+    }
+
+    /**
+     * Retrieves the deadline of the message. Operations should bound their backend calls with the
+     * remaining time of the deadline, and stop processing once it is exceeded. Connections should be obtained
+     * through {@link ConnectionHandler#getConnection(String, String, MessageContext)} to bound the pool wait.
+     *
+     * @param messageContext The message context of the operation.
+     * @return the deadline, null if no deadline is set for the message
+     */
+    protected Deadline getDeadline(MessageContext messageContext) {
+
+        return Deadline.from(messageContext);
+    }
+
+    /**
+     * Executes a backend call with the retry policy of the given connection. The call is executed once
+     * if retries are not enabled for the connection. Only idempotent calls should be executed through this method.
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param operation      The backend call to be executed
+     * @param <T>            Type of the result
+     * @return the result of the call
+     * @throws ConnectException If the call failed and could not be retried.
+     */
+    protected <T> T executeWithRetry(String connector, String connectionName,
+                                     RetryHandler.RetryableOperation<T> operation) throws ConnectException {
+
+        return executeWithRetry(null, connector, connectionName, operation);
+    }
+
+    /**
+     * Executes a backend call with the retry policy of the given connection, without retrying beyond the
+     * deadline of the message.
+     *
+     * @param messageContext The message context of the operation, can be null.
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param operation      The backend call to be executed
+     * @param <T>            Type of the result
+     * @return the result of the call
+     * @throws ConnectException If the call failed and could not be retried.
+     */
+    protected <T> T executeWithRetry(MessageContext messageContext, String connector, String connectionName,
+                                     RetryHandler.RetryableOperation<T> operation) throws ConnectException {
+
+        Deadline deadline = messageContext != null ? getDeadline(messageContext) : null;
+        RetryHandler retryHandler = ConnectionHandler.getConnectionHandler().getRetryHandler(connector, connectionName);
+        if (retryHandler == null) {
+            return operation.execute();
+        }
+        return retryHandler.execute(operation, deadline);
+    }
+
+    @Override
+    protected void handleConnectorResponse(MessageContext messageContext, String responseVariable,
+                                           Boolean overwriteBody, String payload,
+                                           Map<String, Object> headers, Map<String, Object> attributes) {
+
+        capture(payload, headers, attributes);
+        super.handleConnectorResponse(messageContext, responseVariable, overwriteBody, payload, headers, attributes);
+    }
+
+    @Override
+    protected void handleConnectorResponse(MessageContext messageContext, String responseVariable,
+                                           Boolean overwriteBody, JsonElement payload,
+                                           Map<String, Object> headers, Map<String, Object> attributes) {
+
+        capture(payload, headers, attributes);
+        super.handleConnectorResponse(messageContext, responseVariable, overwriteBody, payload, headers, attributes);
+    }
+
+    @Override
+    protected void handleConnectorResponse(MessageContext messageContext, String responseVariable,
+                                           Boolean overwriteBody, OMElement payload,
+                                           Map<String, Object> headers, Map<String, Object> attributes) {
+
+        capture(payload, headers, attributes);
+        super.handleConnectorResponse(messageContext, responseVariable, overwriteBody, payload, headers, attributes);
+    }
+
+    private void executeAndCache(MessageContext messageContext, String responseVariable, Boolean overwriteBody,
+                                 String cacheKey) throws ConnectException {
+
+        if (cacheKey == null) {
+            execute(messageContext, responseVariable, overwriteBody);
+            return;
+        }
+        CachedResponse[] holder = new CachedResponse[1];
+        CachedResponse[] outer = CAPTURED_RESPONSE.get();
+        CAPTURED_RESPONSE.set(holder);
+        try {
+            execute(messageContext, responseVariable, overwriteBody);
+        } finally {
+            if (outer != null) {
+                CAPTURED_RESPONSE.set(outer);
+            } else {
+                CAPTURED_RESPONSE.remove();
+            }
+        }
+        if (holder[0] != null && isCacheable(messageContext, holder[0].payload, holder[0].headers,
+                holder[0].attributes)) {
+            getResponseCache().put(cacheKey, holder[0], getCacheTtlMillis(messageContext), holder[0].sizeBytes);
+        }
+    }
+
+    private static void capture(Object payload, Map<String, Object> headers, Map<String, Object> attributes) {
+
+        CachedResponse[] holder = CAPTURED_RESPONSE.get();
+        if (holder != null && payload != null) {
+            holder[0] = new CachedResponse(CachedResponse.copyPayload(payload), headers, attributes);
+        }
+    }
+
+    private String getCacheKey(MessageContext messageContext) {
+
+        if (getCacheTtlMillis(messageContext) <= 0) {
+            return null;
+        }
+        Map<String, Object> parameters = getCacheKeyParameters(messageContext);
+        if (parameters == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(getClass().getName());
+        for (Map.Entry<String, Object> parameter : new TreeMap<>(parameters).entrySet()) {
+            if (parameter.getValue() == null) {
+                continue;
+            }
+            Object value = parameter.getValue();
+            key.append('|').append(parameter.getKey()).append('=')
+                    .append(value instanceof String ? ((String) value).trim() : value);
+        }
+        return key.toString();
+    }
+
+    private TtlCache<String, CachedResponse> getResponseCache() {
+
+        TtlCache<String, CachedResponse> cache = responseCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = responseCache;
+                if (cache == null) {
+                    cache = new TtlCache<>(getCacheMaxEntries(), getCacheMaxBytes());
+                    responseCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static Object copyResponse(Object response) {
+
+        if (!(response instanceof ConnectorResponse)) {
+            return CachedResponse.copyPayload(response);
+        }
+        ConnectorResponse source = (ConnectorResponse) response;
+        ConnectorResponse copy = new DefaultConnectorResponse();
+        copy.setPayload(CachedResponse.copyPayload(source.getPayload()));
+        copy.setHeaders(source.getHeaders() != null ? new HashMap<>(source.getHeaders()) : null);
+        copy.setAttributes(source.getAttributes() != null ? new HashMap<>(source.getAttributes()) : null);
+        return copy;
+    }
+
+    /**
+     * Response of the operation kept in the response cache. Every hit receives its own copy of the payload.
+     */
+    private static class CachedResponse {
+
+        private final Object payload;
+        private final Map<String, Object> headers;
+        private final Map<String, Object> attributes;
+        private final long sizeBytes;
+
+        private CachedResponse(Object payload, Map<String, Object> headers, Map<String, Object> attributes) {
+
+            this.payload = payload;
+            this.headers = headers != null ? new HashMap<>(headers) : null;
+            this.attributes = attributes != null ? new HashMap<>(attributes) : null;
+            this.sizeBytes = payload.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        private void apply(AbstractConnectorOperation operation, MessageContext messageContext,
+                           String responseVariable, Boolean overwriteBody) {
+
+            Map<String, Object> headersCopy = headers != null ? new HashMap<>(headers) : null;
+            Map<String, Object> attributesCopy = attributes != null ? new HashMap<>(attributes) : null;
+            Object payloadCopy = copyPayload(payload);
+            if (payloadCopy instanceof OMElement) {
+                operation.handleConnectorResponse(messageContext, responseVariable, overwriteBody,
+                        (OMElement) payloadCopy, headersCopy, attributesCopy);
+            } else if (payloadCopy instanceof JsonElement) {
+                operation.handleConnectorResponse(messageContext, responseVariable, overwriteBody,
+                        (JsonElement) payloadCopy, headersCopy, attributesCopy);
+            } else {
+                operation.handleConnectorResponse(messageContext, responseVariable, overwriteBody,
+                        payloadCopy.toString(), headersCopy, attributesCopy);
+            }
+        }
+
+        private static Object copyPayload(Object payload) {
+
+            if (payload instanceof JsonElement) {
+                return ((JsonElement) payload).deepCopy();
+            } else if (payload instanceof OMElement) {
+                return ((OMElement) payload).cloneOMElement();
+            }
+            return payload;
+        }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+import org.wso2.integration.connector.core.util.Constants;
+
+import static java.lang.String.format;
+
+/**
+ * Represents the point in time by which the processing of a message by a connector should complete.
+ * The deadline is carried on the message context so that the pool wait, token acquisition and the
+ * connector operation share the same time budget.
+ */
+public final class Deadline {
+
+    private static final Log log = LogFactory.getLog(Deadline.class);
+
+    private final long expiryTimeMillis;
+
+    private Deadline(long expiryTimeMillis) {
+
+        this.expiryTimeMillis = expiryTimeMillis;
+    }
+
+    /**
+     * Creates a deadline that expires after the given time from now
+     *
+     * @param timeoutMillis time in milliseconds
+     * @return the deadline
+     */
+    public static Deadline after(long timeoutMillis) {
+
+        return new Deadline(System.currentTimeMillis() + timeoutMillis);
+    }
+
+    /**
+     * Creates a deadline that expires at the given time
+     *
+     * @param expiryTimeMillis expiry time in milliseconds since epoch
+     * @return the deadline
+     */
+    public static Deadline at(long expiryTimeMillis) {
+
+        return new Deadline(expiryTimeMillis);
+    }
+
+    /**
+     * Retrieves the deadline of the message
+     *
+     * @param messageContext Message Context
+     * @return the deadline, null if no deadline is set or the deadline property is not a valid time
+     */
+    public static Deadline from(MessageContext messageContext) {
+
+        Object deadline = messageContext.getProperty(Constants.PROPERTY_DEADLINE);
+        if (deadline instanceof Deadline) {
+            return (Deadline) deadline;
+        } else if (deadline instanceof Number) {
+            return at(((Number) deadline).longValue());
+        } else if (deadline instanceof String && !((String) deadline).isEmpty()) {
+            try {
+                return at(Long.parseLong(((String) deadline).trim()));
+            } catch (NumberFormatException e) {
+                log.warn(format("Ignoring the invalid deadline %s of the message. The deadline should be the expiry "
+                        + "time in milliseconds since epoch.", deadline));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets the deadline of the message. An existing deadline is kept if it expires earlier.
+     *
+     * @param messageContext Message Context
+     * @param deadline       Deadline to be set
+     */
+    public static void set(MessageContext messageContext, Deadline deadline) {
+
+        Deadline current = from(messageContext);
+        if (current == null || deadline.expiryTimeMillis < current.expiryTimeMillis) {
+            messageContext.setProperty(Constants.PROPERTY_DEADLINE, deadline);
+        }
+    }
+
+    /**
+     * Restores the deadline of the message to the value it had before an operation set its own deadline, so that
+     * the timeout of the operation does not bound the processing that follows it.
+     *
+     * @param messageContext Message Context
+     * @param previous       Value of the deadline property before the operation, can be null
+     */
+    public static void restore(MessageContext messageContext, Object previous) {
+
+        if (messageContext.getProperty(Constants.PROPERTY_DEADLINE) != previous) {
+            messageContext.setProperty(Constants.PROPERTY_DEADLINE, previous);
+        }
+    }
+
+    public long getExpiryTimeMillis() {
+
+        return expiryTimeMillis;
+    }
+
+    /**
+     * Returns the time left until the deadline
+     *
+     * @return remaining time in milliseconds, 0 if the deadline is already passed
+     */
+    public long remainingMillis() {
+
+        return Math.max(expiryTimeMillis - System.currentTimeMillis(), 0);
+    }
+
+    public boolean isExpired() {
+
+        return System.currentTimeMillis() >= expiryTimeMillis;
+    }
+
+    /**
+     * Fails if the deadline is already passed
+     *
+     * @param stage stage of the processing, used in the error message
+     * @throws DeadlineExceededException if the deadline is passed
+     */
+    public void check(String stage) throws DeadlineExceededException {
+
+        if (isExpired()) {
+            throw new DeadlineExceededException(format("Deadline exceeded by %d ms before %s.",
+                    System.currentTimeMillis() - expiryTimeMillis, stage));
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        return Long.toString(expiryTimeMillis);
+    }
+}
@@ -22,8 +22,13 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseLog;
 import org.apache.synapse.registry.Registry;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.wso2.integration.connector.core.authentication.RegistryTokenCache;
+import org.wso2.integration.connector.core.authentication.Token;
+import org.wso2.integration.connector.core.authentication.TokenProvider;
+import org.wso2.integration.connector.core.authentication.TokenRegistryWriter;
+import org.wso2.integration.connector.core.authentication.TokenRequest;
+import org.wso2.integration.connector.core.authentication.TokenResponse;
+import org.wso2.integration.connector.core.authentication.TokenResponseParser;
 import org.wso2.integration.connector.core.util.ConnectorUtils;
 
 import java.io.IOException;
@@ -74,21 +79,57 @@ public class GenerateAccessToken extends AbstractConnector {
         }
 
         try {
-            String jsonResponse = ConnectorUtils.sendPost(getPostData(messageContext), StandardCharsets.UTF_8,
-                    messageContext);
-            extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse, registry, accessTokenRegistryPath);
-        } catch (IOException e) {
-            synLog.error(e);
-            throw new ConnectException(e, "Error while executing POST request to generate the access token");
-        } catch (JSONException e) {
-            synLog.error(e);
-            throw new ConnectException(e, "Error while processing the response message");
+            String postData = getPostData(messageContext);
+            TokenRequest tokenRequest = ConnectorUtils.getTokenRequest(messageContext, accessTokenRegistryPath,
+                    postData);
+            Token token = TokenProvider.getCachedToken(tokenRequest.getTokenKey());
+            if (token != null) {
+                // The token obtained earlier has not expired yet, hence the token endpoint is not called
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Reusing the cached access token.");
+                }
+            } else {
+                // Concurrent messages of the same token request share a single call to the token endpoint
+                token = TokenProvider.refresh(tokenRequest.getTokenKey(), tokenRequest, null,
+                        () -> requestAccessToken(messageContext, registry, accessTokenRegistryPath, postData),
+                        null, Deadline.from(messageContext));
+            }
+            messageContext.setProperty(PROPERTY_PREFIX + "accessToken", token.getAccessToken());
         } finally {
             propertyKeySet.remove(CACHE_CONTROL);
             propertyKeySet.remove(PRAGMA);
         }
     }
 
+    /**
+     * Posts the token request and hands the response to extractAndSetPropertyAndRegistryResource. Messages waiting
+     * for this request get the access token of the returned token only.
+     *
+     * @param messageContext          Message Context
+     * @param registry                The registry
+     * @param accessTokenRegistryPath The registry path of the access token
+     * @param postData                Payload of the token request
+     * @return the new token
+     * @throws ConnectException if the access token could not be obtained
+     */
+    private Token requestAccessToken(MessageContext messageContext, Registry registry,
+                                     String accessTokenRegistryPath, String postData) throws ConnectException {
+
+        try {
+            String jsonResponse = ConnectorUtils.sendPost(postData, StandardCharsets.UTF_8, messageContext);
+            extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse, registry, accessTokenRegistryPath);
+            String accessToken = (String) messageContext.getProperty(PROPERTY_PREFIX + "accessToken");
+            if (StringUtils.isEmpty(accessToken)) {
+                throw new ConnectException("Access token not found in the token response.");
+            }
+            // Parsed again for the lifetime of the token, as an override may not parse the response
+            return ConnectorUtils.toToken(accessToken, TokenResponseParser.parse(jsonResponse));
+        } catch (IOException e) {
+            getLog(messageContext).error(e);
+            throw new ConnectException(e, "Error while executing POST request to generate the access token");
+        }
+    }
+
     protected String getPostData(MessageContext messageContext) {
         String customTokenGenerationUrl = (String) messageContext.getProperty(PROPERTY_PREFIX
                 + "customTokenGenerationUrl");
@@ -115,20 +156,48 @@ public class GenerateAccessToken extends AbstractConnector {
         }
     }
 
+    /**
+     * Handles the token endpoint response, this is the overload the mediator calls. By default the raw response is
+     * parsed and handled as the overload taking the parsed response does.
+     */
     protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext,
                                                             String jsonResponse,
                                                             Registry registry, String accessTokenRegistryPath)
-            throws IOException, ConnectException, JSONException {
-        JSONObject jsonObject = new JSONObject(jsonResponse);
+            throws IOException, ConnectException {
+        extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse,
+                TokenResponseParser.parse(jsonResponse), registry, accessTokenRegistryPath);
+    }
+
+    /**
+     * Sets the access token of the token endpoint response to the message context and persists it to the registry.
+     * Connectors reading other fields of the response can override this, the raw response is passed along with
+     * the parsed one.
+     *
+     * @param messageContext          Message Context
+     * @param jsonResponse            The raw token endpoint response
+     * @param tokenResponse           The parsed token endpoint response
+     * @param registry                The registry
+     * @param accessTokenRegistryPath The registry path of the access token
+     * @throws ConnectException if the response does not contain an access token
+     */
+    protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext, String jsonResponse,
+                                                            TokenResponse tokenResponse, Registry registry,
+                                                            String accessTokenRegistryPath)
+            throws ConnectException {
 
-        String accessToken = jsonObject.getString("access_token");
+        String accessToken = tokenResponse.getAccessToken();
+        if (accessToken == null) {
+            throw new ConnectException("Access token not found in the token response.");
+        }
         messageContext.setProperty(PROPERTY_PREFIX + "accessToken", accessToken);
 
-        String systemTime = Long.toString(System.currentTimeMillis());
+        long refreshedTime = System.currentTimeMillis();
 
         if(StringUtils.isNotEmpty(accessToken)) {
-            registry.newNonEmptyResource(accessTokenRegistryPath, false, "text/plain", systemTime, "timestamp");
-            registry.updateResource(accessTokenRegistryPath, accessToken);
+            // Local reads see the new token at once, while the registry is updated in the background
+            RegistryTokenCache.put(accessTokenRegistryPath, accessToken, refreshedTime,
+                    RegistryTokenCache.UNKNOWN_VERSION);
+            TokenRegistryWriter.write(registry, accessTokenRegistryPath, accessToken, refreshedTime);
         }
     }
 }
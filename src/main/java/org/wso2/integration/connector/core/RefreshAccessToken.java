@@ -24,8 +24,15 @@ import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseLog;
 import org.apache.synapse.config.Entry;
 import org.apache.synapse.registry.Registry;
-import org.json.JSONException;
-import org.json.JSONObject;
+import org.wso2.integration.connector.core.authentication.InstanceUrlToken;
+import org.wso2.integration.connector.core.authentication.RegistryTokenCache;
+import org.wso2.integration.connector.core.authentication.Token;
+import org.wso2.integration.connector.core.authentication.TokenManager;
+import org.wso2.integration.connector.core.authentication.TokenProvider;
+import org.wso2.integration.connector.core.authentication.TokenRegistryWriter;
+import org.wso2.integration.connector.core.authentication.TokenRequest;
+import org.wso2.integration.connector.core.authentication.TokenResponse;
+import org.wso2.integration.connector.core.authentication.TokenResponseParser;
 import org.wso2.integration.connector.core.util.ConnectorUtils;
 
 import java.io.IOException;
@@ -43,12 +50,16 @@ import java.util.Set;
  *
  * After refresh call this will set the uri.var.accessToken, and uri.var.apiUrl (e.g: for Salesforce) in the message context to be used by
  * subsequent calls.
+ *
+ * A token whose lifetime is stated by the token endpoint is reused until it expires, instead of being refreshed on
+ * every call. Set uri.var.forceRefresh to true to always obtain a new token from the token endpoint.
  */
 public class RefreshAccessToken extends AbstractConnector {
     protected static final String PROPERTY_PREFIX = "uri.var.";
     protected static final String ACCEPT_ENCODING = "Accept-Encoding";
     protected static final String CACHE_CONTROL = "Cache-Control";
     protected static final String PRAGMA = "Pragma";
+    protected static final String FORCE_REFRESH = "forceRefresh";
 
     @Override
     public void connect(MessageContext messageContext) throws ConnectException {
@@ -93,6 +104,20 @@ public class RefreshAccessToken extends AbstractConnector {
 
     protected void handleRefresh(MessageContext messageContext, Registry registry, String accessTokenRegistryPath)
             throws ConnectException {
+        handleRefresh(messageContext, registry, accessTokenRegistryPath, isForceRefresh(messageContext));
+    }
+
+    /**
+     * Refreshes the access token and sets it to the message context.
+     *
+     * @param messageContext          Message Context
+     * @param registry                The registry
+     * @param accessTokenRegistryPath The registry path of the access token
+     * @param forceRefresh            true to replace the current token even if it has not expired yet
+     * @throws ConnectException if the access token could not be obtained
+     */
+    protected void handleRefresh(MessageContext messageContext, Registry registry, String accessTokenRegistryPath,
+                                 boolean forceRefresh) throws ConnectException {
         SynapseLog synLog = getLog(messageContext);
         Set propertyKeySet = messageContext.getPropertyKeySet();
         propertyKeySet.remove(ACCEPT_ENCODING);
@@ -106,21 +131,73 @@ public class RefreshAccessToken extends AbstractConnector {
         }
 
         try {
-            String jsonResponse = ConnectorUtils.sendPost(getPostData(messageContext), StandardCharsets.UTF_8,
-                    messageContext);
-            extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse, registry, accessTokenRegistryPath);
-        } catch (IOException e) {
-            synLog.error(e);
-            throw new ConnectException(e, "Error while executing POST request to refresh the access token");
-        } catch (JSONException e) {
-            synLog.error(e);
-            throw new ConnectException(e, "Error while processing the response message");
+            String postData = getPostData(messageContext);
+            TokenRequest tokenRequest = ConnectorUtils.getTokenRequest(messageContext, accessTokenRegistryPath,
+                    postData);
+            Token staleToken = null;
+            Token token = null;
+            if (forceRefresh) {
+                // A forced refresh replaces the cached token, unless another message has replaced it already
+                staleToken = TokenManager.getToken(tokenRequest.getTokenKey());
+            } else {
+                token = TokenProvider.getCachedToken(tokenRequest.getTokenKey());
+            }
+            if (token != null) {
+                // The token obtained earlier has not expired yet, hence the token endpoint is not called
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Reusing the cached access token.");
+                }
+            } else {
+                // Concurrent messages of the same token request share a single call to the token endpoint
+                token = TokenProvider.refresh(tokenRequest.getTokenKey(), tokenRequest, staleToken,
+                        () -> requestAccessToken(messageContext, registry, accessTokenRegistryPath, postData),
+                        null, Deadline.from(messageContext));
+            }
+            messageContext.setProperty(PROPERTY_PREFIX + "accessToken", token.getAccessToken());
+            if (token instanceof InstanceUrlToken) {
+                messageContext.setProperty(PROPERTY_PREFIX + "apiUrl", ((InstanceUrlToken) token).getInstanceUrl());
+            }
         } finally {
             propertyKeySet.remove(CACHE_CONTROL);
             propertyKeySet.remove(PRAGMA);
         }
     }
 
+    /**
+     * Posts the token request and hands the response to extractAndSetPropertyAndRegistryResource. Messages waiting
+     * for this request get the access token and the API URL of the returned token only.
+     *
+     * @param messageContext          Message Context
+     * @param registry                The registry
+     * @param accessTokenRegistryPath The registry path of the access token
+     * @param postData                Payload of the token request
+     * @return the new token
+     * @throws ConnectException if the access token could not be obtained
+     */
+    private Token requestAccessToken(MessageContext messageContext, Registry registry,
+                                     String accessTokenRegistryPath, String postData) throws ConnectException {
+
+        try {
+            String jsonResponse = ConnectorUtils.sendPost(postData, StandardCharsets.UTF_8, messageContext);
+            extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse, registry, accessTokenRegistryPath);
+            String accessToken = (String) messageContext.getProperty(PROPERTY_PREFIX + "accessToken");
+            if (StringUtils.isEmpty(accessToken)) {
+                throw new ConnectException("Access token not found in the token response.");
+            }
+            // Parsed again for the lifetime of the token, as an override may not parse the response
+            return ConnectorUtils.toToken(accessToken, TokenResponseParser.parse(jsonResponse));
+        } catch (IOException e) {
+            getLog(messageContext).error(e);
+            throw new ConnectException(e, "Error while executing POST request to refresh the access token");
+        }
+    }
+
+    private static boolean isForceRefresh(MessageContext messageContext) {
+
+        Object forceRefresh = messageContext.getProperty(PROPERTY_PREFIX + FORCE_REFRESH);
+        return forceRefresh != null && Boolean.parseBoolean(forceRefresh.toString().trim());
+    }
+
     protected String getPostData(MessageContext messageContext) {
         String customRefreshUrl = (String) messageContext.getProperty(PROPERTY_PREFIX + "customRefreshUrl");
 
@@ -144,25 +221,52 @@ public class RefreshAccessToken extends AbstractConnector {
         }
     }
 
+    /**
+     * Handles the token endpoint response, this is the overload the mediator calls. By default the raw response is
+     * parsed and handled as the overload taking the parsed response does.
+     */
     protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext,
                                                             String jsonResponse,
                                                             Registry registry, String accessTokenRegistryPath)
-            throws IOException, ConnectException, JSONException {
-        JSONObject jsonObject = new JSONObject(jsonResponse);
+            throws IOException, ConnectException {
+        extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse,
+                TokenResponseParser.parse(jsonResponse), registry, accessTokenRegistryPath);
+    }
 
-        String accessToken = jsonObject.getString("access_token");
+    /**
+     * Sets the access token and the API URL of the token endpoint response to the message context and persists the
+     * access token to the registry. Connectors reading other fields of the response can override this, the raw
+     * response is passed along with the parsed one.
+     *
+     * @param messageContext          Message Context
+     * @param jsonResponse            The raw token endpoint response
+     * @param tokenResponse           The parsed token endpoint response
+     * @param registry                The registry
+     * @param accessTokenRegistryPath The registry path of the access token
+     * @throws ConnectException if the response does not contain an access token
+     */
+    protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext, String jsonResponse,
+                                                            TokenResponse tokenResponse, Registry registry,
+                                                            String accessTokenRegistryPath)
+            throws ConnectException {
+
+        String accessToken = tokenResponse.getAccessToken();
+        if (accessToken == null) {
+            throw new ConnectException("Access token not found in the token response.");
+        }
         messageContext.setProperty(PROPERTY_PREFIX + "accessToken", accessToken);
 
-        if(!jsonObject.isNull("instance_url")) {
-            String instanceUrl = jsonObject.getString("instance_url");
-            messageContext.setProperty(PROPERTY_PREFIX + "apiUrl", instanceUrl);
+        if (tokenResponse.getInstanceUrl() != null) {
+            messageContext.setProperty(PROPERTY_PREFIX + "apiUrl", tokenResponse.getInstanceUrl());
         }
 
-        String systemTime = Long.toString(System.currentTimeMillis());
+        long refreshedTime = System.currentTimeMillis();
 
         if(StringUtils.isNotEmpty(accessToken)) {
-            registry.newNonEmptyResource(accessTokenRegistryPath, false, "text/plain", systemTime, "timestamp");
-            registry.updateResource(accessTokenRegistryPath, accessToken);
+            // Local reads see the new token at once, while the registry is updated in the background
+            RegistryTokenCache.put(accessTokenRegistryPath, accessToken, refreshedTime,
+                    RegistryTokenCache.UNKNOWN_VERSION);
+            TokenRegistryWriter.write(registry, accessTokenRegistryPath, accessToken, refreshedTime);
         }
     }
 }
@@ -21,6 +21,7 @@ package org.wso2.integration.connector.core;
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.registry.Registry;
+import org.wso2.integration.connector.core.authentication.RegistryTokenCache;
 
 /**
  * This class can be used by connectors to refresh OAuth 2.0 access tokens by setting the following mandatory
@@ -41,16 +42,35 @@ public class RefreshAccessTokenWithExpiry extends RefreshAccessToken {
         boolean isRefreshNeeded = false;
         String accessTokenRegistryPath = (String) messageContext.getProperty(PROPERTY_PREFIX +
                 "accessTokenRegistryPath");
+        if (StringUtils.isEmpty(accessTokenRegistryPath)) {
+            throw new ConnectException("Access token registry path not provided for access token storage and reuse.");
+        }
+        String intervalTimeString = (String) messageContext.getProperty("uri.var.intervalTime");
+        if (StringUtils.isEmpty(intervalTimeString)) {
+            intervalTimeString = "300000"; // sets default interval time as 50 min
+        }
+        long expiryTimeInterval = Long.parseLong(intervalTimeString);
+
+        RegistryTokenCache.CachedToken cachedToken = RegistryTokenCache.get(registry, accessTokenRegistryPath);
+        if (cachedToken != null) {
+            // Served from memory without reading the registry
+            if (System.currentTimeMillis() - cachedToken.getRefreshedTime() > expiryTimeInterval) {
+                // The token may not have expired yet, hence it is replaced rather than reused
+                handleRefresh(messageContext, registry, accessTokenRegistryPath, true);
+            } else {
+                messageContext.setProperty(PROPERTY_PREFIX + "accessToken", cachedToken.getAccessToken());
+            }
+            return;
+        }
+
+        // Read before the resource, so that a change in between is detected on the next revalidation
+        long version = RegistryTokenCache.getVersion(registry, accessTokenRegistryPath);
         String lastRefreshedTimeString = registry.getResourceProperties(accessTokenRegistryPath).getProperty("timestamp");
+        long lastRefreshedTime = 0;
         if (StringUtils.isEmpty(lastRefreshedTimeString)) {
             isRefreshNeeded = true;
         } else {
-            String intervalTimeString = (String) messageContext.getProperty("uri.var.intervalTime");
-            if (StringUtils.isEmpty(intervalTimeString)) {
-                intervalTimeString = "300000"; // sets default interval time as 50 min
-            }
-            long expiryTimeInterval = Long.parseLong(intervalTimeString);
-            long lastRefreshedTime = Long.parseLong(lastRefreshedTimeString);
+            lastRefreshedTime = Long.parseLong(lastRefreshedTimeString);
             if (System.currentTimeMillis() - lastRefreshedTime > expiryTimeInterval) {
                 isRefreshNeeded = true;
             }
@@ -58,10 +78,15 @@ public class RefreshAccessTokenWithExpiry extends RefreshAccessToken {
 
         if (!isRefreshNeeded) {
             isRefreshNeeded = reuseSavedAccessToken(messageContext, registry, accessTokenRegistryPath);
+            if (!isRefreshNeeded) {
+                RegistryTokenCache.put(accessTokenRegistryPath,
+                        (String) messageContext.getProperty(PROPERTY_PREFIX + "accessToken"), lastRefreshedTime,
+                        version);
+            }
         }
 
         if (isRefreshNeeded) {
-            handleRefresh(messageContext, registry, accessTokenRegistryPath);
+            handleRefresh(messageContext, registry, accessTokenRegistryPath, true);
         }
     }
 }
@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Store holding up to a maximum number of tokens.
+ * Tokens are indexed by their expiry time. Expired tokens are purged a few at a time on every write and on
+ * lookup, and once the store is full the token closest to its expiry is evicted to make room for a new one.
+ * Lookups do not take any lock.
+ */
+public class BoundedTokenStore implements TokenStore {
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static final int MAX_PURGE_PER_WRITE = 16;
+
+    private final int maxSize;
+    private final Map<String, ExpiryEntry> tokenMap = new ConcurrentHashMap<>();
+    private final TreeSet<ExpiryEntry> expiryIndex = new TreeSet<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public BoundedTokenStore() {
+
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public BoundedTokenStore(int maxSize) {
+
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    @Override
+    public Token get(String tokenKey) {
+
+        ExpiryEntry entry = tokenMap.get(tokenKey);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.expiryTime <= System.currentTimeMillis()) {
+            synchronized (this) {
+                if (removeEntry(entry)) {
+                    expiredCount.incrementAndGet();
+                }
+            }
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.token;
+    }
+
+    @Override
+    public synchronized void add(String tokenKey, Token token) {
+
+        ExpiryEntry entry = new ExpiryEntry(tokenKey, token, sequence.incrementAndGet());
+        ExpiryEntry previous = tokenMap.put(tokenKey, entry);
+        if (previous != null) {
+            expiryIndex.remove(previous);
+        }
+        expiryIndex.add(entry);
+        purgeExpired(MAX_PURGE_PER_WRITE);
+        while (tokenMap.size() > maxSize) {
+            // No expired token left to purge, hence the token closest to its expiry makes room
+            ExpiryEntry eldest = expiryIndex.pollFirst();
+            if (eldest == null) {
+                break;
+            }
+            tokenMap.remove(eldest.tokenKey, eldest);
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized Token remove(String tokenKey) {
+
+        ExpiryEntry entry = tokenMap.remove(tokenKey);
+        if (entry == null) {
+            return null;
+        }
+        expiryIndex.remove(entry);
+        return entry.token;
+    }
+
+    @Override
+    public synchronized void clean() {
+
+        tokenMap.clear();
+        expiryIndex.clear();
+    }
+
+    public int size() {
+
+        return tokenMap.size();
+    }
+
+    public int getMaxSize() {
+
+        return maxSize;
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    public long getExpiredCount() {
+
+        return expiredCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    /**
+     * Removes expired tokens from the head of the expiry index. Must hold the lock of the store.
+     *
+     * @param limit maximum number of tokens to be removed
+     */
+    private void purgeExpired(int limit) {
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < limit && !expiryIndex.isEmpty(); i++) {
+            ExpiryEntry first = expiryIndex.first();
+            if (first.expiryTime > now) {
+                return;
+            }
+            expiryIndex.pollFirst();
+            tokenMap.remove(first.tokenKey, first);
+            expiredCount.incrementAndGet();
+        }
+    }
+
+    private boolean removeEntry(ExpiryEntry entry) {
+
+        if (tokenMap.remove(entry.tokenKey, entry)) {
+            expiryIndex.remove(entry);
+            return true;
+        }
+        return false;
+    }
+
+    private static class ExpiryEntry implements Comparable<ExpiryEntry> {
+
+        private final String tokenKey;
+        private final Token token;
+        private final long expiryTime;
+        private final long sequence;
+
+        private ExpiryEntry(String tokenKey, Token token, long sequence) {
+
+            this.tokenKey = tokenKey;
+            this.token = token;
+            this.expiryTime = token.getCreateTimestamp() + token.getExpireIn();
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+
+            int result = Long.compare(expiryTime, other.expiryTime);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
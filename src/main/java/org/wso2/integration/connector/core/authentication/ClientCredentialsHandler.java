@@ -18,34 +18,29 @@
 
 package org.wso2.integration.connector.core.authentication;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import org.apache.axiom.om.OMElement;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.http.HttpEntity;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.util.EntityUtils;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.AbstractSynapseObserver;
+import org.apache.synapse.config.Entry;
+import org.apache.synapse.config.SynapseConfiguration;
 import org.wso2.integration.connector.core.AbstractConnector;
 import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
 import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.integration.connector.core.util.Constants;
 
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
 
 /**
  * The ClientCredentialsHandler class is used to handle the client credentials based authentication.
@@ -53,72 +48,138 @@ import java.util.Objects;
 public class ClientCredentialsHandler extends AbstractConnector {
 
     private static final Log log = LogFactory.getLog(ClientCredentialsHandler.class);
-    private static final JsonParser parser = new JsonParser();
     private static final String ERROR_MESSAGE = Constants.GENERAL_ERROR_MSG + "\"clientId\", \"clientSecret\"," +
             " \"tokenEndpoint\", \"refreshToken\", parameters are mandatory.";
+    private static final long DEFAULT_TOKEN_CLOCK_SKEW = 30000;
+    private static final double DEFAULT_REFRESH_AHEAD_JITTER = 0.1;
+    private static final Set<String> CREDENTIAL_PARAMETERS = new HashSet<>(Arrays.asList(Constants.BASE,
+            Constants.TOKEN_ENDPOINT, Constants.CLIENT_ID, Constants.CLIENT_SECRET, Constants.REFRESH_TOKEN,
+            Constants.SERVE_STALE_TOKEN, Constants.TOKEN_CLOCK_SKEW));
+    private static final Map<String, CredentialDescriptor> CREDENTIALS = new ConcurrentHashMap<>();
+    private static final AbstractSynapseObserver UNDEPLOY_OBSERVER = new AbstractSynapseObserver() {
 
-    @Override
-    public void connect(MessageContext messageContext) throws ConnectException {
-
-        String connectionName = (String) ConnectorUtils.
-                lookupTemplateParamater(messageContext, Constants.CONNECTION_NAME);
+        @Override
+        public void entryRemoved(Entry entry) {
 
-        String base = (String) getParameter(messageContext, Constants.BASE);
-        if (StringUtils.endsWith(base, "/")) {
-            base = StringUtils.removeEnd(base, "/");
+            CREDENTIALS.values().removeIf(credentials -> credentials.isResolvedFrom(entry.getKey()));
         }
-        messageContext.setProperty(Constants.PROPERTY_BASE, base);
+    };
+    private static volatile SynapseConfiguration observedConfiguration;
 
-        String clientId = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_ID);
-        String clientSecret = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_SECRET);
-        String tokenEndpoint = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.TOKEN_ENDPOINT);
-        String refreshToken = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.REFRESH_TOKEN);
-
-        if (StringUtils.isBlank(clientId) || StringUtils.isBlank(clientSecret)
-                || StringUtils.isBlank(tokenEndpoint) || StringUtils.isBlank(refreshToken)){
-            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.INVALID_CONFIG, ERROR_MESSAGE);
-            handleException(ERROR_MESSAGE, messageContext);
-        }
-
-        Map<String, String> payloadParametersMap = new HashMap<>();
-        payloadParametersMap.put(Constants.OAuth2.REFRESH_TOKEN, refreshToken);
-        payloadParametersMap.put(Constants.OAuth2.CLIENT_ID, clientId);
-        payloadParametersMap.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+    @Override
+    public void connect(MessageContext messageContext) throws ConnectException {
 
-        String tokenKey = getTokenKey(connectionName, tokenEndpoint, payloadParametersMap);
+        CredentialDescriptor credentials = getCredentials(messageContext);
+        messageContext.setProperty(Constants.PROPERTY_BASE, credentials.getBase());
+        String tokenKey = credentials.getTokenKey();
 
-        Token token = TokenManager.getToken(tokenKey);
-        if (token == null || !token.isActive()) {
-            if (token != null && !token.isActive()) {
-                TokenManager.removeToken(tokenKey);
-            }
+        Token token = TokenProvider.getCachedToken(tokenKey);
+        if (token != null && isStale(token, credentials)) {
+            token = refreshStaleToken(tokenKey, token, messageContext, credentials.getTokenRequest());
+        } else if (token == null) {
             if (log.isDebugEnabled()) {
-                if (token == null) {
-                    log.debug("Token does not exists in token store.");
-                } else {
-                    log.debug("Access token is inactive.");
-                }
+                log.debug("Active token does not exist in token store.");
             }
-            token = getAndAddNewToken(tokenKey, messageContext, payloadParametersMap, tokenEndpoint);
+            token = getAndAddNewToken(tokenKey, messageContext, credentials.getTokenRequest());
         }
         String accessToken = token.getAccessToken();
         messageContext.setProperty(Constants.PROPERTY_ACCESS_TOKEN, accessToken);
     }
 
+    /**
+     * Function to replace the access token of the message after the backend rejected it before its expiry, e.g.
+     * with HTTP 401. Of the messages holding the rejected token only one calls the token endpoint, and the new
+     * token is set to the message, with which the call can be retried once.
+     *
+     * @param messageContext The message context holding the rejected access token
+     * @throws ConnectException if the new token could not be obtained
+     */
+    public void invalidateToken(MessageContext messageContext) throws ConnectException {
+
+        String staleAccessToken = (String) messageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN);
+        if (StringUtils.isEmpty(staleAccessToken)) {
+            connect(messageContext);
+            return;
+        }
+        CredentialDescriptor credentials = getCredentials(messageContext);
+        Token token;
+        try {
+            token = TokenProvider.invalidate(credentials.getTokenRequest(), new Token(staleAccessToken, 0L, 0L),
+                    getRefreshAheadPolicy(messageContext), Deadline.from(messageContext));
+        } catch (ConnectException e) {
+            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR,
+                    e.getMessage());
+            throw e;
+        }
+        messageContext.setProperty(Constants.PROPERTY_ACCESS_TOKEN, token.getAccessToken());
+    }
+
     /**
      * Function to retrieve access token from the token store or from the token endpoint.
+     * Concurrent requests for the same token key share a single call to the token endpoint,
+     * while requests for other token keys proceed independently.
      *
      * @param tokenKey               The token key
      * @param messageContext         The message context that is generated for processing the message
      * @param payloadParametersMap   The payload parameters map
      * @param tokenEndpoint          The token endpoint
      */
-    protected synchronized Token getAndAddNewToken(String tokenKey, MessageContext messageContext,
-                                                   Map<String, String> payloadParametersMap, String tokenEndpoint) {
+    protected Token getAndAddNewToken(String tokenKey, MessageContext messageContext,
+                                      Map<String, String> payloadParametersMap, String tokenEndpoint) {
 
-        Token token = getAccessToken(messageContext, payloadParametersMap, tokenEndpoint);
-        TokenManager.addToken(tokenKey, token);
-        return token;
+        return getAndAddNewToken(tokenKey, messageContext,
+                toTokenRequest(messageContext, payloadParametersMap, tokenEndpoint));
+    }
+
+    /**
+     * Function to retrieve access token of the token request from the token store or from the token endpoint.
+     *
+     * @param tokenKey       The token key
+     * @param messageContext The message context that is generated for processing the message
+     * @param tokenRequest   The token request of the connection
+     */
+    private Token getAndAddNewToken(String tokenKey, MessageContext messageContext, TokenRequest tokenRequest) {
+
+        try {
+            return TokenProvider.refresh(tokenKey, tokenRequest, null,
+                    () -> getAccessToken(messageContext, tokenRequest.getParameters(),
+                            tokenRequest.getTokenEndpoint()),
+                    getRefreshAheadPolicy(messageContext), Deadline.from(messageContext));
+        } catch (ConnectException | RuntimeException e) {
+            // Messages waiting for the refresh of another message did not get the error properties set
+            if (messageContext.getProperty(Constants.PROPERTY_ERROR_CODE) == null) {
+                String errorMessage = e.getMessage() != null ? e.getMessage()
+                        : Constants.GENERAL_ERROR_MSG + "Error occurred while retrieving access token.";
+                ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR,
+                        errorMessage);
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            handleException(e.getMessage(), e, messageContext);
+        }
+        return null;
+    }
+
+    /**
+     * Function to refresh a token that is still active but about to expire. If the token endpoint cannot be
+     * reached, the stale token is served until it expires.
+     *
+     * @param tokenKey       The token key
+     * @param staleToken     The stale token
+     * @param messageContext The message context that is generated for processing the message
+     * @param tokenRequest   The token request of the connection
+     */
+    private Token refreshStaleToken(String tokenKey, Token staleToken, MessageContext messageContext,
+                                    TokenRequest tokenRequest) {
+
+        try {
+            return TokenProvider.refresh(tokenKey, tokenRequest, staleToken, null,
+                    getRefreshAheadPolicy(messageContext), Deadline.from(messageContext));
+        } catch (ConnectException | RuntimeException e) {
+            log.warn(format("Serving the stale access token as it could not be refreshed: %s", e.getMessage()));
+            return staleToken;
+        }
     }
 
     /**
@@ -131,69 +192,232 @@ public class ClientCredentialsHandler extends AbstractConnector {
     protected Token getAccessToken(MessageContext messageContext, Map<String, String> payloadParametersMap,
                                    String tokenEndpoint) {
 
-        if (log.isDebugEnabled()) {
-            log.debug("Retrieving new access token from token endpoint.");
+        Deadline deadline = Deadline.from(messageContext);
+        if (deadline != null && deadline.isExpired()) {
+            String errorMessage = Constants.GENERAL_ERROR_MSG + "Deadline exceeded before retrieving access token.";
+            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, errorMessage);
+            handleException(errorMessage, messageContext);
         }
+        try {
+            return TokenProvider.requestToken(toTokenRequest(messageContext, payloadParametersMap, tokenEndpoint),
+                    deadline);
+        } catch (ConnectException e) {
+            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, e.getMessage());
+            handleException(e.getMessage(), messageContext);
+        }
+        return null;
+    }
+
+    /**
+     * Function to create the refresh token grant request of the payload parameters, named by the connection.
+     *
+     * @param messageContext         The message context that is generated for processing the message
+     * @param payloadParametersMap   The payload parameters map
+     * @param tokenEndpoint          The token endpoint
+     */
+    private TokenRequest toTokenRequest(MessageContext messageContext, Map<String, String> payloadParametersMap,
+                                        String tokenEndpoint) {
 
-        long curTimeInMillis = System.currentTimeMillis();
-        HttpPost postRequest = new HttpPost(tokenEndpoint);
+        String connectionName = (String) ConnectorUtils.lookupTemplateParamater(messageContext,
+                Constants.CONNECTION_NAME);
+        return new TokenRequest(connectionName, Constants.OAuth2.REFRESH_TOKEN, tokenEndpoint, payloadParametersMap);
+    }
 
-        ArrayList<NameValuePair> parameters = new ArrayList<>();
-        parameters.add(new BasicNameValuePair(Constants.OAuth2.GRANT_TYPE, Constants.OAuth2.REFRESH_TOKEN));
+    /**
+     * Function to read the refresh-ahead configuration of the connection.
+     *
+     * @param messageContext The message context that is generated for processing the message
+     * @return the refresh-ahead policy, null if the tokens are only renewed on demand
+     */
+    private RefreshAheadPolicy getRefreshAheadPolicy(MessageContext messageContext) {
 
-        for (Map.Entry<String, String> entry : payloadParametersMap.entrySet()) {
-            parameters.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+        Object refreshFraction = ConnectorUtils.lookupTemplateParamater(messageContext,
+                Constants.REFRESH_AHEAD_FRACTION);
+        if (refreshFraction == null || StringUtils.isBlank(refreshFraction.toString())) {
+            return null;
         }
-
+        Object clockSkew = ConnectorUtils.lookupTemplateParamater(messageContext, Constants.TOKEN_CLOCK_SKEW);
+        Object jitter = ConnectorUtils.lookupTemplateParamater(messageContext, Constants.REFRESH_AHEAD_JITTER);
         try {
-            postRequest.setEntity(new UrlEncodedFormEntity(parameters));
-        } catch (UnsupportedEncodingException e) {
-            String errorMessage = Constants.GENERAL_ERROR_MSG + "Error occurred while preparing access token request payload.";
-            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, errorMessage);
-            handleException(errorMessage, messageContext);
+            double fraction = Double.parseDouble(refreshFraction.toString().trim());
+            if (fraction <= 0 || fraction >= 1) {
+                return null;
+            }
+            return new RefreshAheadPolicy(fraction,
+                    clockSkew != null && StringUtils.isNotBlank(clockSkew.toString())
+                            ? Long.parseLong(clockSkew.toString().trim()) : DEFAULT_TOKEN_CLOCK_SKEW,
+                    jitter != null && StringUtils.isNotBlank(jitter.toString())
+                            ? Double.parseDouble(jitter.toString().trim()) : DEFAULT_REFRESH_AHEAD_JITTER);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid refresh-ahead configuration, tokens are renewed on demand.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Function to check whether an active token is stale. When serving stale tokens is enabled, a token is stale
+     * once it is within the clock skew of its expiry. It is refreshed then, and served while the token endpoint
+     * is unavailable.
+     *
+     * @param token       The active token
+     * @param credentials The credentials of the connection
+     */
+    private boolean isStale(Token token, CredentialDescriptor credentials) {
+
+        if (!credentials.isServeStaleToken()) {
+            return false;
+        }
+        long expiryTime = token.getCreateTimestamp() + token.getExpireIn();
+        return expiryTime - System.currentTimeMillis() < credentials.getTokenClockSkew();
+    }
+
+    /**
+     * Function to get the credentials of the connection. The credentials of a connection whose local entry defines
+     * the credential parameters as literal values are resolved once, and served from the key of the connection
+     * until the local entry is undeployed. Otherwise the template parameters are looked up per message, as they
+     * may be resolved dynamically, but the credentials and the token key are only rebuilt when they change.
+     *
+     * @param messageContext The message context that is generated for processing the message
+     */
+    private CredentialDescriptor getCredentials(MessageContext messageContext) {
+
+        String connectionName = (String) ConnectorUtils.
+                lookupTemplateParamater(messageContext, Constants.CONNECTION_NAME);
+        String credentialsKey = getConnectorName() + ":" + connectionName;
+        CredentialDescriptor credentials = connectionName != null ? CREDENTIALS.get(credentialsKey) : null;
+        if (credentials != null && credentials.isStatic()) {
+            return credentials;
+        }
+        Entry localEntry = null;
+        if (connectionName != null && messageContext.getConfiguration() != null) {
+            localEntry = messageContext.getConfiguration().getEntryDefinition(connectionName);
+        }
+        if (localEntry == null) {
+            return resolveCredentials(messageContext, connectionName, null, false);
+        }
+        if (credentials != null && credentials.isResolvedFrom(localEntry) && credentials.hasParameters(
+                getBase(messageContext),
+                (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.TOKEN_ENDPOINT),
+                (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_ID),
+                (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_SECRET),
+                (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.REFRESH_TOKEN))) {
+            return credentials;
+        }
+        boolean isStatic = hasStaticParameters(localEntry);
+        credentials = resolveCredentials(messageContext, connectionName, localEntry, isStatic);
+        if (isStatic) {
+            observeUndeploy(messageContext.getConfiguration());
         }
+        CREDENTIALS.put(credentialsKey, credentials);
+        return credentials;
+    }
+
+    /**
+     * Function to get the name of the connector, which scopes the credentials of its connections. Connectors
+     * using this class directly share the class name.
+     */
+    protected String getConnectorName() {
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault();
-             CloseableHttpResponse response = httpClient.execute(postRequest)) {
-            HttpEntity responseEntity = response.getEntity();
+        return getClass().getName();
+    }
+
+    /**
+     * Function to check whether the local entry defines the credential parameters as literal values. Expressions,
+     * e.g. of message properties or secure vault lookups, are enclosed in braces and may differ between messages.
+     *
+     * @param localEntry The local entry defining the connection
+     */
+    private static boolean hasStaticParameters(Entry localEntry) {
 
-            if (responseEntity == null) {
-                String errorMessage = Constants.GENERAL_ERROR_MSG + "Failed to retrieve access token : No entity received.";
-                ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, errorMessage);
-                handleException(errorMessage, messageContext);
+        if (!(localEntry.getValue() instanceof OMElement)) {
+            return false;
+        }
+        Iterator parameters = ((OMElement) localEntry.getValue()).getChildElements();
+        while (parameters.hasNext()) {
+            OMElement parameter = (OMElement) parameters.next();
+            if (CREDENTIAL_PARAMETERS.contains(parameter.getLocalName())
+                    && StringUtils.contains(parameter.getText(), '{')) {
+                return false;
             }
+        }
+        return true;
+    }
+
+    /**
+     * Function to drop the static credentials of a local entry once it is undeployed, as they are no longer
+     * checked against the local entry per message.
+     *
+     * @param configuration The Synapse configuration holding the local entries
+     */
+    private static void observeUndeploy(SynapseConfiguration configuration) {
 
-            int responseStatus = response.getStatusLine().getStatusCode();
-            String respMessage = EntityUtils.toString(responseEntity);
-            if (responseStatus == HttpURLConnection.HTTP_OK) {
-                JsonElement jsonElement = parser.parse(respMessage);
-                JsonObject jsonObject = jsonElement.getAsJsonObject();
-                String accessToken = jsonObject.get(Constants.OAuth2.ACCESS_TOKEN).getAsString();
-                long expireIn = jsonObject.get(Constants.OAuth2.EXPIRES_IN).getAsLong();
-                return new Token(accessToken, curTimeInMillis, expireIn * 1000);
-            } else {
-                String errorMessage = Constants.GENERAL_ERROR_MSG + "Error occurred while retrieving access token. Response: "
-                        + "[Status : " + responseStatus + " " + "Message: " + respMessage + "]";
-                ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, errorMessage);
-                handleException(errorMessage, messageContext);
+        if (configuration == null || configuration == observedConfiguration) {
+            return;
+        }
+        synchronized (UNDEPLOY_OBSERVER) {
+            if (configuration != observedConfiguration) {
+                configuration.registerObserver(UNDEPLOY_OBSERVER);
+                observedConfiguration = configuration;
             }
-        } catch (IOException e) {
-            String errorMessage = Constants.GENERAL_ERROR_MSG + "Error occurred while retrieving access token.";
-            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.TOKEN_ERROR, errorMessage);
-            handleException(errorMessage, messageContext);
         }
-        return null;
     }
 
     /**
-     * Function to generate the token key.
+     * Function to get the base URL of the connection, without a trailing slash.
+     *
+     * @param messageContext The message context that is generated for processing the message
+     */
+    private String getBase(MessageContext messageContext) {
+
+        String base = (String) getParameter(messageContext, Constants.BASE);
+        if (StringUtils.endsWith(base, "/")) {
+            base = StringUtils.removeEnd(base, "/");
+        }
+        return base;
+    }
+
+    /**
+     * Function to resolve the credentials of the connection from the template parameters.
      *
-     * @param connection        The connection name
-     * @param tokenEp           The token endpoint
-     * @param params            The parameters map
+     * @param messageContext The message context that is generated for processing the message
+     * @param connectionName The connection name
+     * @param localEntry     The local entry defining the connection, can be null
+     * @param isStatic       Whether the local entry defines the credential parameters as literal values
      */
-    private String getTokenKey(String connection, String tokenEp, Map<String, String> params) {
+    private CredentialDescriptor resolveCredentials(MessageContext messageContext, String connectionName,
+                                                    Entry localEntry, boolean isStatic) {
+
+        String base = getBase(messageContext);
 
-        return connection + "_" + Objects.hash(tokenEp, params);
+        String clientId = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_ID);
+        String clientSecret = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.CLIENT_SECRET);
+        String tokenEndpoint = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.TOKEN_ENDPOINT);
+        String refreshToken = (String) ConnectorUtils.lookupTemplateParamater(messageContext, Constants.REFRESH_TOKEN);
+
+        if (StringUtils.isBlank(clientId) || StringUtils.isBlank(clientSecret)
+                || StringUtils.isBlank(tokenEndpoint) || StringUtils.isBlank(refreshToken)){
+            ConnectorUtils.setErrorPropertiesToMessage(messageContext, Constants.ErrorCodes.INVALID_CONFIG, ERROR_MESSAGE);
+            handleException(ERROR_MESSAGE, messageContext);
+        }
+
+        Map<String, String> payloadParametersMap = new HashMap<>();
+        payloadParametersMap.put(Constants.OAuth2.REFRESH_TOKEN, refreshToken);
+        payloadParametersMap.put(Constants.OAuth2.CLIENT_ID, clientId);
+        payloadParametersMap.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+
+        Object serveStaleToken = ConnectorUtils.lookupTemplateParamater(messageContext, Constants.SERVE_STALE_TOKEN);
+        long clockSkew = DEFAULT_TOKEN_CLOCK_SKEW;
+        Object clockSkewParameter = ConnectorUtils.lookupTemplateParamater(messageContext,
+                Constants.TOKEN_CLOCK_SKEW);
+        if (clockSkewParameter != null && StringUtils.isNotBlank(clockSkewParameter.toString())) {
+            try {
+                clockSkew = Long.parseLong(clockSkewParameter.toString().trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid token clock skew, the default clock skew is used.", e);
+            }
+        }
+        return new CredentialDescriptor(localEntry, connectionName, base, tokenEndpoint, payloadParametersMap,
+                serveStaleToken != null && Boolean.parseBoolean(serveStaleToken.toString().trim()), clockSkew,
+                isStatic);
     }
 }
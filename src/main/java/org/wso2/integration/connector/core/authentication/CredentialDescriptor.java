@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.synapse.config.Entry;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable credentials of a connection, resolved from its template parameters together with the token key.
+ * A descriptor is reused by the messages of the connection while its local entry and its credential parameters
+ * stay the same. The descriptor of a local entry defining its credential parameters as literal values is static,
+ * it is reused without resolving the parameters of the messages until the local entry is undeployed.
+ */
+final class CredentialDescriptor {
+
+    private final Entry localEntry;
+    private final String base;
+    private final TokenRequest tokenRequest;
+    private final boolean serveStaleToken;
+    private final long tokenClockSkew;
+    private final boolean isStatic;
+
+    CredentialDescriptor(Entry localEntry, String connectionName, String base, String tokenEndpoint,
+                         Map<String, String> payloadParameters, boolean serveStaleToken, long tokenClockSkew,
+                         boolean isStatic) {
+
+        this.localEntry = localEntry;
+        this.base = base;
+        this.tokenRequest = new TokenRequest(connectionName, Constants.OAuth2.REFRESH_TOKEN, tokenEndpoint,
+                payloadParameters);
+        this.serveStaleToken = serveStaleToken;
+        this.tokenClockSkew = tokenClockSkew;
+        this.isStatic = isStatic;
+    }
+
+    /**
+     * Function to check whether the descriptor was resolved from the given local entry of the connection.
+     */
+    boolean isResolvedFrom(Entry entry) {
+
+        return localEntry != null && localEntry == entry;
+    }
+
+    /**
+     * Function to check whether the descriptor was resolved from the local entry of the given key.
+     */
+    boolean isResolvedFrom(String localEntryKey) {
+
+        return localEntry != null && localEntry.getKey() != null && localEntry.getKey().equals(localEntryKey);
+    }
+
+    /**
+     * Function to check whether the descriptor holds the given credential parameters of a message. Parameters
+     * resolved per message, e.g. from message properties or the secure vault, may differ between messages.
+     */
+    boolean hasParameters(String base, String tokenEndpoint, String clientId, String clientSecret,
+                          String refreshToken) {
+
+        Map<String, String> parameters = tokenRequest.getParameters();
+        return Objects.equals(this.base, base) && Objects.equals(getTokenEndpoint(), tokenEndpoint)
+                && Objects.equals(parameters.get(Constants.OAuth2.CLIENT_ID), clientId)
+                && Objects.equals(parameters.get(Constants.OAuth2.CLIENT_SECRET), clientSecret)
+                && Objects.equals(parameters.get(Constants.OAuth2.REFRESH_TOKEN), refreshToken);
+    }
+
+    String getBase() {
+
+        return base;
+    }
+
+    TokenRequest getTokenRequest() {
+
+        return tokenRequest;
+    }
+
+    String getTokenEndpoint() {
+
+        return tokenRequest.getTokenEndpoint();
+    }
+
+    Map<String, String> getPayloadParameters() {
+
+        return tokenRequest.getParameters();
+    }
+
+    String getTokenKey() {
+
+        return tokenRequest.getTokenKey();
+    }
+
+    boolean isServeStaleToken() {
+
+        return serveStaleToken;
+    }
+
+    long getTokenClockSkew() {
+
+        return tokenClockSkew;
+    }
+
+    boolean isStatic() {
+
+        return isStatic;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import static java.lang.String.format;
+
+/**
+ * File backed Token Store, which keeps the tokens across restarts so that a restarted node does not obtain all
+ * its tokens from the identity providers again.
+ * Every change is appended to a log file as a record encrypted with AES-GCM, using a key derived from a secret
+ * and a random salt kept in the file header. The log is compacted into a snapshot of the live tokens once it
+ * has grown well beyond them. At startup the log is replayed and the tokens that are still valid are reloaded.
+ * Lookups are served from memory.
+ */
+public class FileTokenStore implements TokenStore, Closeable {
+
+    private static final Log log = LogFactory.getLog(FileTokenStore.class);
+
+    private static final int MAGIC = 0x544b4e53;
+    private static final int VERSION = 1;
+    private static final int SALT_LENGTH = 16;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final int KEY_LENGTH_BITS = 256;
+    private static final int KEY_DERIVATION_ITERATIONS = 65536;
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_CLEAN = 3;
+
+    private final Path logFile;
+    private final char[] secret;
+    private final Map<String, Token> tokenMap = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private SecretKey key;
+    private byte[] salt;
+    private DataOutputStream logStream;
+    private int recordCount;
+
+    /**
+     * Creates the store and reloads the valid tokens of the log file, if it exists.
+     *
+     * @param filePath path of the log file
+     * @param secret   secret from which the encryption key is derived
+     * @throws ConnectException if the log file could not be opened
+     */
+    public FileTokenStore(String filePath, char[] secret) throws ConnectException {
+
+        this.logFile = Paths.get(filePath);
+        this.secret = secret.clone();
+        try {
+            if (Files.exists(logFile) && Files.size(logFile) > 0) {
+                load();
+            } else {
+                salt = new byte[SALT_LENGTH];
+                random.nextBytes(salt);
+                key = deriveKey(salt);
+            }
+            // Starts from a compacted log, which also drops the expired tokens and any torn record at the end
+            compact();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new ConnectException(e, format("Error occurred while opening the token store %s.", filePath));
+        }
+    }
+
+    @Override
+    public Token get(String tokenKey) {
+
+        return tokenMap.get(tokenKey);
+    }
+
+    @Override
+    public synchronized void add(String tokenKey, Token token) {
+
+        tokenMap.put(tokenKey, token);
+        append(OP_ADD, tokenKey, token);
+    }
+
+    @Override
+    public synchronized Token remove(String tokenKey) {
+
+        Token token = tokenMap.remove(tokenKey);
+        if (token != null) {
+            append(OP_REMOVE, tokenKey, null);
+        }
+        return token;
+    }
+
+    @Override
+    public synchronized void clean() {
+
+        tokenMap.clear();
+        append(OP_CLEAN, null, null);
+    }
+
+    @Override
+    public synchronized void close() {
+
+        if (logStream == null) {
+            return;
+        }
+        try {
+            logStream.close();
+        } catch (IOException e) {
+            log.warn(format("Error occurred while closing the token store %s.", logFile), e);
+        }
+        logStream = null;
+    }
+
+    private void append(byte operation, String tokenKey, Token token) {
+
+        if (logStream == null) {
+            return;
+        }
+        try {
+            writeRecord(logStream, operation, tokenKey, token);
+            logStream.flush();
+            recordCount++;
+            if (recordCount > Math.max(MIN_COMPACTION_RECORDS, tokenMap.size() * 2)) {
+                compact();
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            // The tokens are still served from memory, they are only lost for the next restart
+            log.error(format("Error occurred while writing to the token store %s.", logFile), e);
+        }
+    }
+
+    /**
+     * Replaces the log with a snapshot of the valid tokens. Must hold the lock of the store.
+     */
+    private void compact() throws IOException, GeneralSecurityException {
+
+        close();
+        Path tempFile = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+        int records = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(salt);
+            for (Map.Entry<String, Token> entry : tokenMap.entrySet()) {
+                if (entry.getValue().isActive()) {
+                    writeRecord(out, OP_ADD, entry.getKey(), entry.getValue());
+                    records++;
+                } else {
+                    tokenMap.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        recordCount = records;
+    }
+
+    private void load() throws IOException, GeneralSecurityException {
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(format("%s is not a token store file.", logFile));
+            }
+            salt = new byte[SALT_LENGTH];
+            in.readFully(salt);
+            key = deriveKey(salt);
+            while (true) {
+                byte[] record;
+                try {
+                    int length = in.readInt();
+                    if (length <= IV_LENGTH || length > MAX_RECORD_LENGTH) {
+                        throw new IOException("Invalid record length " + length);
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    applyRecord(decrypt(record));
+                } catch (GeneralSecurityException e) {
+                    log.warn(format("Stopped reading the token store %s at a record that could not be decrypted.",
+                            logFile));
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            if (key == null) {
+                throw e;
+            }
+            log.warn(format("Stopped reading the token store %s at a corrupted record.", logFile), e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(format("Reloaded %d tokens from the token store %s.", tokenMap.size(), logFile));
+        }
+    }
+
+    private void applyRecord(byte[] record) throws IOException {
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte operation = in.readByte();
+        if (operation == OP_ADD) {
+            String tokenKey = in.readUTF();
+            Token token = new Token(in.readUTF(), in.readLong(), in.readLong());
+            tokenMap.put(tokenKey, token);
+        } else if (operation == OP_REMOVE) {
+            tokenMap.remove(in.readUTF());
+        } else if (operation == OP_CLEAN) {
+            tokenMap.clear();
+        }
+    }
+
+    private void writeRecord(DataOutputStream out, byte operation, String tokenKey, Token token)
+            throws IOException, GeneralSecurityException {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(buffer);
+        record.writeByte(operation);
+        if (tokenKey != null) {
+            record.writeUTF(tokenKey);
+        }
+        if (token != null) {
+            record.writeUTF(token.getAccessToken());
+            record.writeLong(token.getCreateTimestamp());
+            record.writeLong(token.getExpireIn());
+        }
+        byte[] encrypted = encrypt(buffer.toByteArray());
+        out.writeInt(encrypted.length);
+        out.write(encrypted);
+    }
+
+    private byte[] encrypt(byte[] plainText) throws GeneralSecurityException {
+
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        byte[] cipherText = cipher.doFinal(plainText);
+        byte[] record = new byte[IV_LENGTH + cipherText.length];
+        System.arraycopy(iv, 0, record, 0, IV_LENGTH);
+        System.arraycopy(cipherText, 0, record, IV_LENGTH, cipherText.length);
+        return record;
+    }
+
+    private byte[] decrypt(byte[] record) throws GeneralSecurityException {
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, record, 0, IV_LENGTH));
+        return cipher.doFinal(record, IV_LENGTH, record.length - IV_LENGTH);
+    }
+
+    private SecretKey deriveKey(byte[] salt) throws GeneralSecurityException {
+
+        PBEKeySpec keySpec = new PBEKeySpec(secret, salt, KEY_DERIVATION_ITERATIONS, KEY_LENGTH_BITS);
+        try {
+            byte[] keyBytes = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(keySpec)
+                    .getEncoded();
+            return new SecretKeySpec(keyBytes, "AES");
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+}
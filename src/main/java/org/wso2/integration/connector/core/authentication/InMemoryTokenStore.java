@@ -46,6 +46,14 @@ public class InMemoryTokenStore implements TokenStore {
         return TOKEN_MAP.remove(tokenKey);
     }
 
+    @Override
+    public boolean remove(String tokenKey, Token staleToken) {
+
+        Token current = TOKEN_MAP.get(tokenKey);
+        return current != null && current.getAccessToken().equals(staleToken.getAccessToken())
+                && TOKEN_MAP.remove(tokenKey, current);
+    }
+
     @Override
     public void clean() {
 
@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+/**
+ * Access token stored together with the instance URL the token endpoint returned with it, e.g. by Salesforce,
+ * so that the URL is evicted from the token store along with its token.
+ */
+public class InstanceUrlToken extends Token {
+
+    private final String instanceUrl;
+
+    public InstanceUrlToken(String accessToken, Long createTimestamp, Long expireIn, String instanceUrl) {
+
+        super(accessToken, createTimestamp, expireIn);
+        this.instanceUrl = instanceUrl;
+    }
+
+    public String getInstanceUrl() {
+
+        return instanceUrl;
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+
+import static java.lang.String.format;
+
+/**
+ * Token Store shared by the nodes of a cluster through a database table, so that a token obtained by one node
+ * is used by all of them.
+ * A token is refreshed by one node at a time. The refreshing node holds a lease on the row of the token, while
+ * the other nodes poll the row until the new token is stored, for at most the configured wait time.
+ * Reads are served from a local near-cache for a short time to keep the database off the message path.
+ * <p>
+ * The table can be created with {@link #createTable()}, or beforehand with the following definition.
+ * <pre>
+ * CREATE TABLE CONNECTOR_TOKENS (
+ *     TOKEN_KEY VARCHAR(255) NOT NULL PRIMARY KEY,
+ *     ACCESS_TOKEN VARCHAR(8000),
+ *     CREATED_TIME BIGINT,
+ *     EXPIRES_IN BIGINT,
+ *     LEASE_OWNER VARCHAR(64),
+ *     LEASE_EXPIRY BIGINT)
+ * </pre>
+ */
+public class JdbcTokenStore implements TokenStore, TokenRefreshCoordinator {
+
+    private static final Log log = LogFactory.getLog(JdbcTokenStore.class);
+
+    private static final String DEFAULT_TABLE_NAME = "CONNECTOR_TOKENS";
+    private static final long DEFAULT_NEAR_CACHE_MILLIS = 2000;
+    private static final long DEFAULT_LEASE_MILLIS = 30000;
+    private static final long DEFAULT_MAX_WAIT_MILLIS = 5000;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+    private final DataSource dataSource;
+    private final String tableName;
+    private final long nearCacheMillis;
+    private final long leaseMillis;
+    private final long maxWaitMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, CachedToken> nearCache = new ConcurrentHashMap<>();
+
+    public JdbcTokenStore(DataSource dataSource) {
+
+        this(dataSource, DEFAULT_TABLE_NAME, DEFAULT_NEAR_CACHE_MILLIS, DEFAULT_LEASE_MILLIS, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * @param dataSource      data source of the shared database
+     * @param tableName       name of the token table
+     * @param nearCacheMillis time for which a read is served from the local near-cache
+     * @param leaseMillis     time after which the lease of a node that did not complete its refresh expires
+     * @param maxWaitMillis   maximum time to wait for the refresh of another node before refreshing locally
+     */
+    public JdbcTokenStore(DataSource dataSource, String tableName, long nearCacheMillis, long leaseMillis,
+                          long maxWaitMillis) {
+
+        if (!TABLE_NAME_PATTERN.matcher(tableName).matches()) {
+            throw new IllegalArgumentException(format("Invalid token table name %s.", tableName));
+        }
+        this.dataSource = dataSource;
+        this.tableName = tableName;
+        this.nearCacheMillis = nearCacheMillis;
+        this.leaseMillis = leaseMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Creates the token table if it does not exist.
+     *
+     * @throws ConnectException if the table could not be created
+     */
+    public void createTable() throws ConnectException {
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{tableName, tableName.toUpperCase(), tableName.toLowerCase()}) {
+                try (ResultSet tables = metaData.getTables(null, null, name, null)) {
+                    if (tables.next()) {
+                        return;
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE " + tableName + " (TOKEN_KEY VARCHAR(255) NOT NULL PRIMARY KEY, "
+                        + "ACCESS_TOKEN VARCHAR(8000), CREATED_TIME BIGINT, EXPIRES_IN BIGINT, "
+                        + "LEASE_OWNER VARCHAR(64), LEASE_EXPIRY BIGINT)");
+            }
+        } catch (SQLException e) {
+            throw new ConnectException(e, format("Error occurred while creating the token table %s.", tableName));
+        }
+    }
+
+    @Override
+    public Token get(String tokenKey) {
+
+        long now = System.currentTimeMillis();
+        CachedToken cached = nearCache.get(tokenKey);
+        if (cached != null && now - cached.readTime < nearCacheMillis) {
+            return cached.token;
+        }
+        try {
+            Token token = readToken(tokenKey);
+            nearCache.put(tokenKey, new CachedToken(token, now));
+            return token;
+        } catch (SQLException e) {
+            log.error(format("Error occurred while reading the token %s from the token table.", tokenKey), e);
+            return cached != null ? cached.token : null;
+        }
+    }
+
+    @Override
+    public void add(String tokenKey, Token token) {
+
+        nearCache.put(tokenKey, new CachedToken(token, System.currentTimeMillis()));
+        try {
+            upsert(tokenKey, token);
+        } catch (SQLException e) {
+            log.error(format("Error occurred while writing the token %s to the token table.", tokenKey), e);
+        }
+    }
+
+    @Override
+    public Token remove(String tokenKey) {
+
+        CachedToken cached = nearCache.remove(tokenKey);
+        Token known = cached != null ? cached.token : null;
+        long now = System.currentTimeMillis();
+        // Only an expired token or the token known to this node is removed, never a token just stored by another
+        // node, and rows leased by a refreshing node are kept as the node stores the new token in them
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableName
+                     + " WHERE TOKEN_KEY = ? AND (LEASE_OWNER IS NULL OR LEASE_EXPIRY < ?)"
+                     + " AND (ACCESS_TOKEN IS NULL OR CREATED_TIME + EXPIRES_IN <= ? OR ACCESS_TOKEN = ?)")) {
+            statement.setString(1, tokenKey);
+            statement.setLong(2, now);
+            statement.setLong(3, now);
+            if (known != null) {
+                statement.setString(4, known.getAccessToken());
+            } else {
+                statement.setNull(4, Types.VARCHAR);
+            }
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.error(format("Error occurred while removing the token %s from the token table.", tokenKey), e);
+        }
+        return cached != null ? cached.token : null;
+    }
+
+    @Override
+    public boolean remove(String tokenKey, Token staleToken) {
+
+        nearCache.remove(tokenKey);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + tableName
+                     + " WHERE TOKEN_KEY = ? AND ACCESS_TOKEN = ? AND (LEASE_OWNER IS NULL OR LEASE_EXPIRY < ?)")) {
+            statement.setString(1, tokenKey);
+            statement.setString(2, staleToken.getAccessToken());
+            statement.setLong(3, System.currentTimeMillis());
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            log.error(format("Error occurred while removing the token %s from the token table.", tokenKey), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void clean() {
+
+        nearCache.clear();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM " + tableName);
+        } catch (SQLException e) {
+            log.error("Error occurred while cleaning the token table.", e);
+        }
+    }
+
+    @Override
+    public Token refresh(String tokenKey, Token staleToken, TokenRefresher refresher) throws ConnectException {
+
+        long waitUntil = System.currentTimeMillis() + maxWaitMillis;
+        try {
+            while (true) {
+                Token current = readToken(tokenKey);
+                if (isRefreshed(current, staleToken)) {
+                    nearCache.put(tokenKey, new CachedToken(current, System.currentTimeMillis()));
+                    return current;
+                }
+                if (acquireLease(tokenKey)) {
+                    return refreshWithLease(tokenKey, staleToken, refresher);
+                }
+                if (System.currentTimeMillis() >= waitUntil) {
+                    break;
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            log.warn(format("Timed out waiting for the refresh of the token %s by another node.", tokenKey));
+        } catch (SQLException e) {
+            log.warn(format("Error occurred while coordinating the refresh of the token %s, refreshing locally.",
+                    tokenKey), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, format("Interrupted while waiting for the refresh of the token %s.",
+                    tokenKey));
+        }
+        Token token = refresher.refresh();
+        add(tokenKey, token);
+        return token;
+    }
+
+    private Token refreshWithLease(String tokenKey, Token staleToken, TokenRefresher refresher)
+            throws SQLException, ConnectException {
+
+        boolean stored = false;
+        try {
+            // Another node may have stored a new token and released its lease since the row was read
+            Token current = readToken(tokenKey);
+            if (isRefreshed(current, staleToken)) {
+                nearCache.put(tokenKey, new CachedToken(current, System.currentTimeMillis()));
+                return current;
+            }
+            Token token = refresher.refresh();
+            nearCache.put(tokenKey, new CachedToken(token, System.currentTimeMillis()));
+            storeAndReleaseLease(tokenKey, token);
+            stored = true;
+            return token;
+        } finally {
+            if (!stored) {
+                releaseLease(tokenKey);
+            }
+        }
+    }
+
+    private static boolean isRefreshed(Token current, Token staleToken) {
+
+        return current != null && current.isActive()
+                && (staleToken == null || !current.getAccessToken().equals(staleToken.getAccessToken()));
+    }
+
+    private Token readToken(String tokenKey) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ACCESS_TOKEN, CREATED_TIME, "
+                     + "EXPIRES_IN FROM " + tableName + " WHERE TOKEN_KEY = ?")) {
+            statement.setString(1, tokenKey);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getString(1) == null) {
+                    // No row, or a row created for a lease before its first token is stored
+                    return null;
+                }
+                return new Token(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3));
+            }
+        }
+    }
+
+    private boolean acquireLease(String tokenKey) throws SQLException {
+
+        long now = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                    + " SET LEASE_OWNER = ?, LEASE_EXPIRY = ? WHERE TOKEN_KEY = ?"
+                    + " AND (LEASE_OWNER IS NULL OR LEASE_EXPIRY < ?)")) {
+                statement.setString(1, nodeId);
+                statement.setLong(2, now + leaseMillis);
+                statement.setString(3, tokenKey);
+                statement.setLong(4, now);
+                if (statement.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            // Either the row does not exist yet or another node holds the lease
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tableName
+                    + " (TOKEN_KEY, LEASE_OWNER, LEASE_EXPIRY) VALUES (?, ?, ?)")) {
+                statement.setString(1, tokenKey);
+                statement.setString(2, nodeId);
+                statement.setLong(3, now + leaseMillis);
+                statement.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                if (isDuplicateKey(e)) {
+                    return false;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void storeAndReleaseLease(String tokenKey, Token token) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                     + " SET ACCESS_TOKEN = ?, CREATED_TIME = ?, EXPIRES_IN = ?, LEASE_OWNER = NULL,"
+                     + " LEASE_EXPIRY = NULL WHERE TOKEN_KEY = ? AND LEASE_OWNER = ?")) {
+            statement.setString(1, token.getAccessToken());
+            statement.setLong(2, token.getCreateTimestamp());
+            statement.setLong(3, token.getExpireIn());
+            statement.setString(4, tokenKey);
+            statement.setString(5, nodeId);
+            if (statement.executeUpdate() > 0) {
+                return;
+            }
+        }
+        // The lease expired and was taken over, or the row was removed, the token is stored regardless
+        upsert(tokenKey, token);
+    }
+
+    private void releaseLease(String tokenKey) {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                     + " SET LEASE_OWNER = NULL, LEASE_EXPIRY = NULL WHERE TOKEN_KEY = ? AND LEASE_OWNER = ?")) {
+            statement.setString(1, tokenKey);
+            statement.setString(2, nodeId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.warn(format("Error occurred while releasing the lease of the token %s, it expires in %d ms.",
+                    tokenKey, leaseMillis), e);
+        }
+    }
+
+    private void upsert(String tokenKey, Token token) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (update(connection, tokenKey, token)) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + tableName
+                    + " (TOKEN_KEY, ACCESS_TOKEN, CREATED_TIME, EXPIRES_IN, LEASE_OWNER, LEASE_EXPIRY)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)")) {
+                statement.setString(1, tokenKey);
+                statement.setString(2, token.getAccessToken());
+                statement.setLong(3, token.getCreateTimestamp());
+                statement.setLong(4, token.getExpireIn());
+                statement.setNull(5, Types.VARCHAR);
+                statement.setNull(6, Types.BIGINT);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                // Inserted by another node in the meantime
+                if (!isDuplicateKey(e) || !update(connection, tokenKey, token)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean update(Connection connection, String tokenKey, Token token) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE " + tableName
+                + " SET ACCESS_TOKEN = ?, CREATED_TIME = ?, EXPIRES_IN = ? WHERE TOKEN_KEY = ?")) {
+            statement.setString(1, token.getAccessToken());
+            statement.setLong(2, token.getCreateTimestamp());
+            statement.setLong(3, token.getExpireIn());
+            statement.setString(4, tokenKey);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+
+        return e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION);
+    }
+
+    private static class CachedToken {
+
+        private final Token token;
+        private final long readTime;
+
+        private CachedToken(Token token, long readTime) {
+
+            this.token = token;
+            this.readTime = readTime;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The RefreshAheadPolicy decides when a token is renewed in the background. A token is renewed once the
+ * configured fraction of its lifetime has elapsed, but no later than the clock skew margin before its expiry.
+ * A random jitter brings the renewal forward so that tokens obtained together are not renewed together.
+ * Renewals are at least a tenth of the token lifetime apart, and tokens that do not outlive the clock skew margin
+ * are not renewed ahead at all, as every renewal would be due at once.
+ */
+public class RefreshAheadPolicy {
+
+    /**
+     * Refresh delay of a token that is not to be renewed ahead of its expiry
+     */
+    public static final long NO_REFRESH = -1;
+
+    private static final double MIN_REFRESH_DELAY_FRACTION = 0.1;
+
+    private final double refreshFraction;
+    private final long clockSkewMillis;
+    private final double jitterFraction;
+
+    /**
+     * @param refreshFraction fraction of the token lifetime after which the token is renewed, between 0 and 1
+     * @param clockSkewMillis margin before the expiry by which the token must be renewed
+     * @param jitterFraction  maximum fraction of the refresh delay by which the renewal is brought forward
+     */
+    public RefreshAheadPolicy(double refreshFraction, long clockSkewMillis, double jitterFraction) {
+
+        this.refreshFraction = Math.min(Math.max(refreshFraction, 0), 1);
+        this.clockSkewMillis = Math.max(clockSkewMillis, 0);
+        this.jitterFraction = Math.min(Math.max(jitterFraction, 0), 1);
+    }
+
+    public double getRefreshFraction() {
+
+        return refreshFraction;
+    }
+
+    public long getClockSkewMillis() {
+
+        return clockSkewMillis;
+    }
+
+    public double getJitterFraction() {
+
+        return jitterFraction;
+    }
+
+    /**
+     * Returns the time to wait before renewing the token.
+     *
+     * @param token the token to be renewed
+     * @return delay in milliseconds from now, or NO_REFRESH if the token lifetime does not exceed the clock skew
+     */
+    public long getRefreshDelay(Token token) {
+
+        if (token.getExpireIn() <= clockSkewMillis) {
+            return NO_REFRESH;
+        }
+        long refreshAt = token.getCreateTimestamp() + (long) (token.getExpireIn() * refreshFraction);
+        refreshAt = Math.min(refreshAt, token.getCreateTimestamp() + token.getExpireIn() - clockSkewMillis);
+        long delay = refreshAt - System.currentTimeMillis();
+        if (delay > 0 && jitterFraction > 0) {
+            delay -= (long) (ThreadLocalRandom.current().nextDouble() * jitterFraction * delay);
+        }
+        return Math.max(delay, Math.max((long) (token.getExpireIn() * MIN_REFRESH_DELAY_FRACTION), 1));
+    }
+}
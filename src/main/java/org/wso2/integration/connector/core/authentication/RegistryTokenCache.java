@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.synapse.registry.Registry;
+import org.apache.synapse.registry.RegistryEntry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The RegistryTokenCache keeps the access tokens persisted in the registry in memory, keyed by registry path.
+ * Tokens are written through the cache when they are persisted. A cached token is revalidated against the
+ * version of its registry resource at most once per revalidation interval, hence a token written by another
+ * node replaces the cached one within that interval. A token whose write to the registry is still pending is not
+ * revalidated, as the registry holds an older token until the write completes.
+ */
+public class RegistryTokenCache {
+
+    private static final long REVALIDATION_INTERVAL = 5000;
+    public static final long UNKNOWN_VERSION = -1;
+    private static final Map<String, CachedToken> CACHE = new ConcurrentHashMap<>();
+
+    private RegistryTokenCache() {
+
+    }
+
+    /**
+     * Function to get the cached token of a registry path.
+     *
+     * @param registry     The registry holding the token
+     * @param registryPath The registry path of the token
+     * @return the cached token, null if it is not cached or the registry resource has changed since it was cached
+     */
+    public static CachedToken get(Registry registry, String registryPath) {
+
+        CachedToken cachedToken = CACHE.get(registryPath);
+        if (cachedToken == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now - cachedToken.validatedTime < REVALIDATION_INTERVAL || TokenRegistryWriter.isPending(registryPath)) {
+            return cachedToken;
+        }
+        long version = getVersion(registry, registryPath);
+        if (version != UNKNOWN_VERSION && version == cachedToken.version) {
+            cachedToken.validatedTime = now;
+            return cachedToken;
+        }
+        CACHE.remove(registryPath, cachedToken);
+        return null;
+    }
+
+    /**
+     * Function to cache the token of a registry path.
+     *
+     * @param registryPath  The registry path of the token
+     * @param accessToken   The access token
+     * @param refreshedTime The time the token was obtained
+     * @param version       The version of the registry resource the token was read from or written to
+     */
+    public static void put(String registryPath, String accessToken, long refreshedTime, long version) {
+
+        CACHE.put(registryPath, new CachedToken(accessToken, refreshedTime, version));
+    }
+
+    /**
+     * Function to remove the cached token of a registry path.
+     */
+    public static void invalidate(String registryPath) {
+
+        CACHE.remove(registryPath);
+    }
+
+    /**
+     * Function to get the version of a registry resource. Both the version and the last modified time are taken
+     * into account, as registries may not maintain both of them.
+     *
+     * @param registry     The registry
+     * @param registryPath The registry path of the resource
+     * @return the version, or -1 if the registry does not provide it
+     */
+    public static long getVersion(Registry registry, String registryPath) {
+
+        RegistryEntry registryEntry = registry.getRegistryEntry(registryPath);
+        if (registryEntry == null) {
+            return UNKNOWN_VERSION;
+        }
+        return (31 * registryEntry.getVersion() + registryEntry.getLastModified()) & Long.MAX_VALUE;
+    }
+
+    /**
+     * Access token cached for a registry path.
+     */
+    public static class CachedToken {
+
+        private final String accessToken;
+        private final long refreshedTime;
+        private final long version;
+        private volatile long validatedTime;
+
+        private CachedToken(String accessToken, long refreshedTime, long version) {
+
+            this.accessToken = accessToken;
+            this.refreshedTime = refreshedTime;
+            this.version = version;
+            this.validatedTime = System.currentTimeMillis();
+        }
+
+        public String getAccessToken() {
+
+            return accessToken;
+        }
+
+        public long getRefreshedTime() {
+
+            return refreshedTime;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * The TokenEndpointBackoff remembers the failed token endpoint calls per key, which identifies the endpoint and the
+ * credentials of the calls. After a failure, the calls of the key fail at once with the error of the failed call
+ * until the backoff has elapsed, instead of each message calling an identity provider that is down. The backoff
+ * doubles with every consecutive failure up to the maximum, and is cleared by the next successful call.
+ * Calls cut short by the deadline of the caller are not recorded, as they do not tell that the endpoint is down.
+ */
+public class TokenEndpointBackoff {
+
+    private static final Log log = LogFactory.getLog(TokenEndpointBackoff.class);
+
+    private static final long DEFAULT_INITIAL_BACKOFF = 1000;
+    private static final long DEFAULT_MAX_BACKOFF = 60000;
+    private static final Map<String, Failure> FAILURES = new ConcurrentHashMap<>();
+
+    private static volatile long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+    private static volatile long maxBackoff = DEFAULT_MAX_BACKOFF;
+
+    private TokenEndpointBackoff() {
+
+    }
+
+    /**
+     * Function to configure the backoff applied after a failed call.
+     *
+     * @param initialBackoffMillis backoff after the first failure
+     * @param maxBackoffMillis     maximum backoff after consecutive failures
+     */
+    public static void configure(long initialBackoffMillis, long maxBackoffMillis) {
+
+        initialBackoff = initialBackoffMillis;
+        maxBackoff = Math.max(initialBackoffMillis, maxBackoffMillis);
+    }
+
+    /**
+     * Function to check whether the token endpoint can be called for the key.
+     *
+     * @param key The backoff key
+     * @throws ConnectException with the error of the last failed call, if the key is backing off
+     */
+    public static void checkBackoff(String key) throws ConnectException {
+
+        Failure failure = FAILURES.get(key);
+        if (failure != null && System.currentTimeMillis() < failure.retryTime) {
+            throw new ConnectException(failure.cause, failure.cause.getMessage());
+        }
+    }
+
+    /**
+     * Function to record a failed call of the key, which starts or extends its backoff.
+     *
+     * @param key   The backoff key
+     * @param cause The error of the call
+     */
+    public static void recordFailure(String key, Exception cause) {
+
+        Failure failure = FAILURES.compute(key, (k, previous) -> {
+            int failures = previous == null ? 1 : previous.failures + 1;
+            long backoff = Math.min(maxBackoff, initialBackoff << Math.min(failures - 1, 30));
+            return new Failure(failures, System.currentTimeMillis() + backoff, cause);
+        });
+        if (log.isDebugEnabled()) {
+            log.debug(format("Token endpoint call failed %d consecutive times, backing off until %d.",
+                    failure.failures, failure.retryTime));
+        }
+    }
+
+    /**
+     * Function to record a failed call of the key, unless it failed because the deadline of the caller expired,
+     * e.g. as the timeouts of the call were shortened to the remaining time of the deadline.
+     *
+     * @param key      The backoff key
+     * @param cause    The error of the call
+     * @param deadline The deadline bounding the call, can be null
+     */
+    public static void recordFailure(String key, Exception cause, Deadline deadline) {
+
+        if (cause instanceof DeadlineExceededException || (deadline != null && deadline.isExpired())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token endpoint call failed after the deadline of the caller expired, not backing off.");
+            }
+            return;
+        }
+        recordFailure(key, cause);
+    }
+
+    /**
+     * Function to record a successful call of the key, which clears its backoff.
+     *
+     * @param key The backoff key
+     */
+    public static void recordSuccess(String key) {
+
+        FAILURES.remove(key);
+    }
+
+    private static class Failure {
+
+        private final int failures;
+        private final long retryTime;
+        private final Exception cause;
+
+        private Failure(int failures, long retryTime, Exception cause) {
+
+            this.failures = failures;
+            this.retryTime = retryTime;
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The TokenEndpointClient is the HTTP client shared by the token endpoint calls of the connectors.
+ * Connections to the token endpoints are kept alive and pooled per endpoint, hence a token refresh does not pay
+ * the connection and TLS setup again. Every call is bounded by the configured timeouts, or by the deadline of the
+ * caller if it is shorter. The client is closed when the connections of the runtime are shut down and is created
+ * again on the next call.
+ */
+public class TokenEndpointClient {
+
+    private static final Log log = LogFactory.getLog(TokenEndpointClient.class);
+
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    private static final int DEFAULT_SOCKET_TIMEOUT = 30000;
+    private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 10000;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+    private static final long IDLE_CONNECTION_TIMEOUT = 60000;
+
+    private static int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private static int socketTimeout = DEFAULT_SOCKET_TIMEOUT;
+    private static int connectionRequestTimeout = DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+    private static int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private static TokenEndpointClient instance;
+
+    private final CloseableHttpClient httpClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final RequestConfig requestConfig;
+
+    /**
+     * Reads the response of a token endpoint call
+     *
+     * @param <T> type of the result
+     */
+    public interface ResponseReader<T> {
+
+        /**
+         * Reads the response. The entity is consumed after this returns, to release the connection to the pool.
+         *
+         * @param statusCode HTTP status code of the response
+         * @param entity     entity of the response, can be null
+         * @return the result of the call
+         * @throws IOException      if the response could not be read
+         * @throws ConnectException if the response is not a valid token response
+         */
+        T read(int statusCode, HttpEntity entity) throws IOException, ConnectException;
+    }
+
+    private TokenEndpointClient() {
+
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Math.max(DEFAULT_MAX_CONNECTIONS, maxConnectionsPerRoute));
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        requestConfig = RequestConfig.custom().setConnectTimeout(connectTimeout).setSocketTimeout(socketTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout).build();
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig).disableCookieManagement().evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Returns the shared client, creating it if it does not exist
+     *
+     * @return the shared client
+     */
+    public static synchronized TokenEndpointClient getInstance() {
+
+        if (instance == null) {
+            instance = new TokenEndpointClient();
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the timeouts and the pool size of the client. The client is created again with the new configuration.
+     *
+     * @param connectTimeoutMillis           timeout to establish a connection
+     * @param socketTimeoutMillis            timeout waiting for data from the token endpoint
+     * @param connectionRequestTimeoutMillis timeout waiting for a pooled connection
+     * @param maxConnections                 maximum number of pooled connections per token endpoint
+     */
+    public static synchronized void configure(int connectTimeoutMillis, int socketTimeoutMillis,
+                                              int connectionRequestTimeoutMillis, int maxConnections) {
+
+        connectTimeout = connectTimeoutMillis;
+        socketTimeout = socketTimeoutMillis;
+        connectionRequestTimeout = connectionRequestTimeoutMillis;
+        maxConnectionsPerRoute = Math.max(maxConnections, 1);
+        shutdown();
+    }
+
+    /**
+     * Closes the shared client and its pooled connections
+     */
+    public static synchronized void shutdown() {
+
+        if (instance == null) {
+            return;
+        }
+        try {
+            instance.httpClient.close();
+        } catch (IOException e) {
+            log.warn("Error occurred while closing the token endpoint client.", e);
+        }
+        instance.connectionManager.shutdown();
+        instance = null;
+    }
+
+    /**
+     * Sends a POST request to the token endpoint
+     *
+     * @param tokenEndpoint URL of the token endpoint
+     * @param entity        body of the request
+     * @param deadline      deadline of the caller, can be null
+     * @param reader        reads the response
+     * @param <T>           type of the result
+     * @return the result of the reader
+     * @throws IOException      if the request failed
+     * @throws ConnectException if the reader rejected the response, or the deadline has expired
+     */
+    public <T> T post(String tokenEndpoint, HttpEntity entity, Deadline deadline, ResponseReader<T> reader)
+            throws IOException, ConnectException {
+
+        if (deadline != null) {
+            deadline.check("calling the token endpoint");
+        }
+        HttpPost postRequest = new HttpPost(tokenEndpoint);
+        postRequest.setEntity(entity);
+        if (deadline != null) {
+            postRequest.setConfig(RequestConfig.custom()
+                    .setConnectTimeout(boundedTimeout(connectTimeout, deadline))
+                    .setSocketTimeout(boundedTimeout(socketTimeout, deadline))
+                    .setConnectionRequestTimeout(boundedTimeout(connectionRequestTimeout, deadline)).build());
+        }
+        try (CloseableHttpResponse response = httpClient.execute(postRequest)) {
+            HttpEntity responseEntity = response.getEntity();
+            try {
+                return reader.read(response.getStatusLine().getStatusCode(), responseEntity);
+            } finally {
+                // Fully read entities allow the connection to be reused by the next call
+                EntityUtils.consumeQuietly(responseEntity);
+            }
+        }
+    }
+
+    private static int boundedTimeout(int timeout, Deadline deadline) {
+
+        int remaining = (int) Math.max(Math.min(deadline.remainingMillis(), Integer.MAX_VALUE), 1);
+        return timeout > 0 ? Math.min(timeout, remaining) : remaining;
+    }
+}
@@ -20,25 +20,138 @@ package org.wso2.integration.connector.core.authentication;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
 
 /**
  * The TokenManager holds and manages the tokens.
+ * Tokens added with a {@link TokenRefresher} are renewed in the background before they expire, hence the
+ * messages do not wait for the token endpoint while it is reachable. A token is no longer renewed once it
+ * has not been used since its previous renewal.
  */
 public class TokenManager {
 
     private static final Log log = LogFactory.getLog(TokenManager.class);
-    private static final TokenStore TOKEN_STORE = new InMemoryTokenStore();
+    private static volatile TokenStore tokenStore = new InMemoryTokenStore();
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000;
+    private static final ScheduledExecutorService REFRESH_SCHEDULER = Executors.newScheduledThreadPool(2, r -> {
+        Thread thread = new Thread(r, "connector-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<String, RefreshTask> REFRESH_TASKS = new ConcurrentHashMap<>();
 
     private TokenManager() {
 
     }
 
+    /**
+     * Function to replace the token store, e.g. with a {@link BoundedTokenStore} on long-running nodes or a
+     * {@link FileTokenStore} to keep the tokens across restarts. Tokens held by the previous store are not
+     * carried over, and the previous store is closed if it is closeable.
+     *
+     * @param store The token store to be used
+     */
+    public static synchronized void setTokenStore(TokenStore store) {
+
+        TokenStore previous = tokenStore;
+        tokenStore = store;
+        if (previous instanceof Closeable) {
+            try {
+                ((Closeable) previous).close();
+            } catch (IOException e) {
+                log.warn("Error occurred while closing the previous token store.", e);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(format("Token store set to %s.", store.getClass().getName()));
+        }
+    }
+
+    /**
+     * Function to get the token store in use.
+     */
+    public static TokenStore getTokenStore() {
+
+        return tokenStore;
+    }
+
     /**
      * Function to add access token for given client ID and token endpoint.
      */
     public static void addToken(String resourceKey, Token token) {
 
-        TOKEN_STORE.add(resourceKey, token);
+        tokenStore.add(resourceKey, token);
+        RefreshTask refreshTask = REFRESH_TASKS.get(resourceKey);
+        if (refreshTask != null) {
+            refreshTask.schedule(token);
+        }
+    }
+
+    /**
+     * Function to add access token and renew it in the background before it expires.
+     *
+     * @param resourceKey The token key
+     * @param token       The token
+     * @param refresher   Retrieves a new token from the token endpoint
+     * @param policy      Decides when the token is renewed
+     */
+    public static void addToken(String resourceKey, Token token, TokenRefresher refresher,
+                                RefreshAheadPolicy policy) {
+
+        tokenStore.add(resourceKey, token);
+        renewAhead(resourceKey, token, refresher, policy);
+    }
+
+    /**
+     * Function to renew a stored access token in the background before it expires.
+     *
+     * @param resourceKey The token key
+     * @param token       The stored token
+     * @param refresher   Retrieves a new token from the token endpoint
+     * @param policy      Decides when the token is renewed
+     */
+    public static void renewAhead(String resourceKey, Token token, TokenRefresher refresher,
+                                  RefreshAheadPolicy policy) {
+
+        RefreshTask refreshTask = new RefreshTask(resourceKey, refresher, policy);
+        RefreshTask previous = REFRESH_TASKS.put(resourceKey, refreshTask);
+        if (previous != null) {
+            previous.cancel();
+        }
+        refreshTask.schedule(token);
+    }
+
+    /**
+     * Function to obtain and store a new access token. If the token store is shared by several nodes, the token is
+     * refreshed by one node at a time and the others use the token it obtained.
+     *
+     * @param resourceKey The token key
+     * @param staleToken  The token being replaced, null if any valid token is acceptable
+     * @param refresher   Retrieves a new token from the token endpoint
+     * @return the new token
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token refreshToken(String resourceKey, Token staleToken, TokenRefresher refresher)
+            throws ConnectException {
+
+        TokenStore store = tokenStore;
+        if (store instanceof TokenRefreshCoordinator) {
+            return ((TokenRefreshCoordinator) store).refresh(resourceKey, staleToken, refresher);
+        }
+        Token token = refresher.refresh();
+        store.add(resourceKey, token);
+        return token;
     }
 
     /**
@@ -46,7 +159,11 @@ public class TokenManager {
      */
     public static Token getToken(String resourceKey) {
 
-        return TOKEN_STORE.get(resourceKey);
+        RefreshTask refreshTask = REFRESH_TASKS.get(resourceKey);
+        if (refreshTask != null) {
+            refreshTask.accessed = true;
+        }
+        return tokenStore.get(resourceKey);
     }
 
     /**
@@ -54,7 +171,29 @@ public class TokenManager {
      */
     public static void removeToken(String resourceKey) {
 
-        TOKEN_STORE.remove(resourceKey);
+        tokenStore.remove(resourceKey);
+        cancelRefresh(resourceKey);
+    }
+
+    /**
+     * Function to invalidate a token rejected before its expiry, e.g. revoked by the backend. The token is removed
+     * only if it is still the stored token, hence of the callers holding the same stale token only the first one
+     * removes it, and a token already renewed by another caller is kept.
+     *
+     * @param resourceKey The token key
+     * @param staleToken  The rejected token
+     * @return true if the stale token was removed
+     */
+    public static boolean invalidate(String resourceKey, Token staleToken) {
+
+        boolean removed = tokenStore.remove(resourceKey, staleToken);
+        if (removed) {
+            cancelRefresh(resourceKey);
+            if (log.isDebugEnabled()) {
+                log.debug(format("Invalidated the token %s.", resourceKey));
+            }
+        }
+        return removed;
     }
 
     /**
@@ -62,9 +201,108 @@ public class TokenManager {
      */
     public static void clean() {
 
-        TOKEN_STORE.clean();
+        tokenStore.clean();
+        for (String resourceKey : REFRESH_TASKS.keySet()) {
+            cancelRefresh(resourceKey);
+        }
         if (log.isDebugEnabled()) {
             log.debug("Token map cleaned.");
         }
     }
+
+    private static void cancelRefresh(String resourceKey) {
+
+        RefreshTask refreshTask = REFRESH_TASKS.remove(resourceKey);
+        if (refreshTask != null) {
+            refreshTask.cancel();
+        }
+    }
+
+    /**
+     * Renews the token of a key in the background.
+     */
+    private static class RefreshTask implements Runnable {
+
+        private final String resourceKey;
+        private final TokenRefresher refresher;
+        private final RefreshAheadPolicy policy;
+        private volatile boolean accessed = true;
+        private ScheduledFuture<?> future;
+
+        private RefreshTask(String resourceKey, TokenRefresher refresher, RefreshAheadPolicy policy) {
+
+            this.resourceKey = resourceKey;
+            this.refresher = refresher;
+            this.policy = policy;
+        }
+
+        private void schedule(Token token) {
+
+            long delay = policy.getRefreshDelay(token);
+            if (delay == RefreshAheadPolicy.NO_REFRESH) {
+                // The token does not outlive the clock skew, hence it is obtained on demand instead
+                REFRESH_TASKS.remove(resourceKey, this);
+                if (log.isDebugEnabled()) {
+                    log.debug(format("The token %s is too short lived to be renewed ahead of its expiry.",
+                            resourceKey));
+                }
+                return;
+            }
+            scheduleAfter(delay);
+        }
+
+        private synchronized void scheduleAfter(long delayMillis) {
+
+            if (future != null) {
+                future.cancel(false);
+            }
+            future = REFRESH_SCHEDULER.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void cancel() {
+
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            if (REFRESH_TASKS.get(resourceKey) != this) {
+                return;
+            }
+            if (!accessed) {
+                // Not used since the previous renewal, hence let it expire and be obtained again on demand
+                REFRESH_TASKS.remove(resourceKey, this);
+                if (log.isDebugEnabled()) {
+                    log.debug(format("Stopped renewing the unused token %s.", resourceKey));
+                }
+                return;
+            }
+            accessed = false;
+            try {
+                Token token = refreshToken(resourceKey, tokenStore.get(resourceKey), refresher);
+                if (REFRESH_TASKS.get(resourceKey) == this) {
+                    schedule(token);
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug(format("Renewed the token %s ahead of its expiry.", resourceKey));
+                }
+            } catch (Exception e) {
+                accessed = true;
+                Token current = tokenStore.get(resourceKey);
+                if (current != null && current.isActive()) {
+                    long remaining = current.getCreateTimestamp() + current.getExpireIn() - System.currentTimeMillis();
+                    log.warn(format("Error occurred while renewing the token %s, retrying before it expires.",
+                            resourceKey), e);
+                    scheduleAfter(Math.max(remaining / 2, MIN_RETRY_DELAY_MILLIS));
+                } else {
+                    log.warn(format("Error occurred while renewing the token %s, it will be obtained on demand.",
+                            resourceKey), e);
+                    REFRESH_TASKS.remove(resourceKey, this);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.message.BasicNameValuePair;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.util.Constants;
+import org.wso2.integration.connector.core.util.SingleFlight;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The TokenProvider obtains the access tokens of all the OAuth 2.0 grants used by the connectors. Tokens are kept
+ * in the TokenManager until they expire, concurrent requests for the same token share a single call to the token
+ * endpoint, and the calls go through the pooled TokenEndpointClient with the backoff of the TokenEndpointBackoff.
+ * The cache and token endpoint usage of all the grants is counted in a single set of metrics.
+ */
+public class TokenProvider {
+
+    private static final Log log = LogFactory.getLog(TokenProvider.class);
+
+    private static final SingleFlight<String, Token> TOKEN_REFRESHES = new SingleFlight<>();
+    private static final AtomicLong cacheHitCount = new AtomicLong();
+    private static final AtomicLong cacheMissCount = new AtomicLong();
+    private static final AtomicLong requestCount = new AtomicLong();
+    private static final AtomicLong requestFailureCount = new AtomicLong();
+    private static final AtomicLong requestTimeMillis = new AtomicLong();
+
+    private TokenProvider() {
+
+    }
+
+    /**
+     * Function to get the access token of the request, from the TokenManager if it holds an active token, or else
+     * from the token endpoint.
+     *
+     * @param request  The token request
+     * @param deadline The deadline of the caller, can be null
+     * @return the active token
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token getToken(TokenRequest request, Deadline deadline) throws ConnectException {
+
+        return getToken(request, null, deadline);
+    }
+
+    /**
+     * Function to get the access token of the request, from the TokenManager if it holds an active token, or else
+     * from the token endpoint.
+     *
+     * @param request            The token request
+     * @param refreshAheadPolicy The policy renewing the token ahead of its expiry, null to renew it on demand
+     * @param deadline           The deadline of the caller, can be null
+     * @return the active token
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token getToken(TokenRequest request, RefreshAheadPolicy refreshAheadPolicy, Deadline deadline)
+            throws ConnectException {
+
+        Token token = getCachedToken(request.getTokenKey());
+        if (token != null) {
+            return token;
+        }
+        return refresh(request.getTokenKey(), request, null, null, refreshAheadPolicy, deadline);
+    }
+
+    /**
+     * Function to get the active token of the key from the TokenManager. An expired token is removed.
+     *
+     * @param tokenKey The token key
+     * @return the active token, null if there is none
+     */
+    public static Token getCachedToken(String tokenKey) {
+
+        Token token = TokenManager.getToken(tokenKey);
+        if (token != null && token.isActive()) {
+            cacheHitCount.incrementAndGet();
+            return token;
+        }
+        if (token != null) {
+            TokenManager.removeToken(tokenKey);
+        }
+        cacheMissCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Function to obtain a new token of the request. Concurrent refreshes of the same token share a single call to
+     * the token endpoint, and a token renewed by a refresh that completed in the meantime is returned as is.
+     *
+     * @param tokenKey           The token key
+     * @param request            The token request
+     * @param staleToken         The token being replaced, null if any active token is acceptable
+     * @param refresher          Retrieves the new token, null to request it from the token endpoint
+     * @param refreshAheadPolicy The policy renewing the token ahead of its expiry, null to renew it on demand
+     * @param deadline           The deadline of the caller, can be null
+     * @return the new token
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token refresh(String tokenKey, TokenRequest request, Token staleToken, TokenRefresher refresher,
+                                RefreshAheadPolicy refreshAheadPolicy, Deadline deadline) throws ConnectException {
+
+        return TOKEN_REFRESHES.execute(tokenKey, () -> {
+            Token token = TokenManager.getToken(tokenKey);
+            if (token != null && token.isActive() && (staleToken == null
+                    || !token.getAccessToken().equals(staleToken.getAccessToken()))) {
+                return token;
+            }
+            token = TokenManager.refreshToken(tokenKey, staleToken,
+                    refresher != null ? refresher : () -> requestToken(request, deadline));
+            // A single use credential cannot be replayed by the renewal, hence the token is renewed on demand
+            if (refreshAheadPolicy != null && !request.isSingleUse()) {
+                TokenManager.renewAhead(tokenKey, token, () -> TOKEN_REFRESHES.execute(tokenKey,
+                        () -> requestToken(request, null)), refreshAheadPolicy);
+            }
+            return token;
+        }, deadline);
+    }
+
+    /**
+     * Function to replace a token rejected before its expiry, e.g. with HTTP 401. The stale token is invalidated and
+     * a single new token is obtained for all the callers holding it: callers arriving during the re-fetch wait for
+     * it, and callers arriving after it get the new token without calling the token endpoint again.
+     *
+     * @param request    The token request
+     * @param staleToken The rejected token
+     * @param deadline   The deadline of the caller, can be null
+     * @return the new token, with which the caller can retry once
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token invalidate(TokenRequest request, Token staleToken, Deadline deadline)
+            throws ConnectException {
+
+        return invalidate(request, staleToken, null, deadline);
+    }
+
+    /**
+     * Function to replace a token rejected before its expiry, renewing the new token ahead of its expiry as the
+     * token it replaces was.
+     *
+     * @param request            The token request
+     * @param staleToken         The rejected token
+     * @param refreshAheadPolicy The policy renewing the token ahead of its expiry, null to renew it on demand
+     * @param deadline           The deadline of the caller, can be null
+     * @return the new token, with which the caller can retry once
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token invalidate(TokenRequest request, Token staleToken, RefreshAheadPolicy refreshAheadPolicy,
+                                   Deadline deadline) throws ConnectException {
+
+        TokenManager.invalidate(request.getTokenKey(), staleToken);
+        return refresh(request.getTokenKey(), request, staleToken, null, refreshAheadPolicy, deadline);
+    }
+
+    /**
+     * Function to request a new access token from the token endpoint, without storing it. After a failed request,
+     * the requests with the same parameters fail at once with its error until the backoff has elapsed.
+     *
+     * @param request  The token request
+     * @param deadline The deadline bounding the request, can be null
+     * @return the new token
+     * @throws ConnectException if the token could not be obtained
+     */
+    public static Token requestToken(TokenRequest request, Deadline deadline) throws ConnectException {
+
+        String backoffKey = request.getTokenEndpoint() + "_"
+                + Objects.hash(request.getGrantType(), request.getParameters());
+        TokenEndpointBackoff.checkBackoff(backoffKey);
+        long startTime = System.currentTimeMillis();
+        requestCount.incrementAndGet();
+        try {
+            Token token = postTokenRequest(request, deadline);
+            TokenEndpointBackoff.recordSuccess(backoffKey);
+            return token;
+        } catch (ConnectException e) {
+            requestFailureCount.incrementAndGet();
+            TokenEndpointBackoff.recordFailure(backoffKey, e, deadline);
+            throw e;
+        } finally {
+            requestTimeMillis.addAndGet(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private static Token postTokenRequest(TokenRequest request, Deadline deadline) throws ConnectException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving new access token from token endpoint using the " + request.getGrantType()
+                    + " grant.");
+        }
+
+        long curTimeInMillis = System.currentTimeMillis();
+        List<NameValuePair> parameters = new ArrayList<>();
+        parameters.add(new BasicNameValuePair(Constants.OAuth2.GRANT_TYPE, request.getGrantType()));
+        for (Map.Entry<String, String> entry : request.getParameters().entrySet()) {
+            parameters.add(new BasicNameValuePair(entry.getKey(), entry.getValue()));
+        }
+        UrlEncodedFormEntity requestEntity = new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8);
+
+        try {
+            return TokenEndpointClient.getInstance().post(request.getTokenEndpoint(), requestEntity, deadline,
+                    (responseStatus, responseEntity) -> {
+                        if (responseEntity == null) {
+                            throw new ConnectException(Constants.GENERAL_ERROR_MSG
+                                    + "Failed to retrieve access token : No entity received.");
+                        }
+                        if (responseStatus == HttpURLConnection.HTTP_OK) {
+                            TokenResponse tokenResponse = TokenResponseParser.parse(responseEntity);
+                            if (tokenResponse.getAccessToken() == null || tokenResponse.getExpiresIn() == null) {
+                                throw new ConnectException(Constants.GENERAL_ERROR_MSG
+                                        + "Failed to retrieve access token : \"access_token\" and \"expires_in\""
+                                        + " are not found in the response.");
+                            }
+                            return new Token(tokenResponse.getAccessToken(), curTimeInMillis,
+                                    tokenResponse.getExpiresIn() * 1000);
+                        }
+                        String respMessage = TokenResponseParser.toString(responseEntity, StandardCharsets.UTF_8);
+                        throw new ConnectException(Constants.GENERAL_ERROR_MSG
+                                + "Error occurred while retrieving access token. Response: "
+                                + "[Status : " + responseStatus + " " + "Message: " + respMessage + "]");
+                    });
+        } catch (IOException e) {
+            throw new ConnectException(e, Constants.GENERAL_ERROR_MSG + "Error occurred while retrieving access token.");
+        }
+    }
+
+    public static long getCacheHitCount() {
+
+        return cacheHitCount.get();
+    }
+
+    public static long getCacheMissCount() {
+
+        return cacheMissCount.get();
+    }
+
+    /**
+     * @return the number of requests sent to the token endpoints, excluding the requests failed by the backoff
+     */
+    public static long getRequestCount() {
+
+        return requestCount.get();
+    }
+
+    public static long getRequestFailureCount() {
+
+        return requestFailureCount.get();
+    }
+
+    /**
+     * @return the total time spent on the token endpoint requests in milliseconds
+     */
+    public static long getRequestTimeMillis() {
+
+        return requestTimeMillis.get();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.wso2.integration.connector.core.ConnectException;
+
+/**
+ * Implemented by token stores shared by several nodes, to refresh each token on one node at a time.
+ */
+public interface TokenRefreshCoordinator {
+
+    /**
+     * Function to obtain a new token for the key. The token is refreshed with the refresher only if no other node
+     * is refreshing it, otherwise the token refreshed by the other node is returned. The new token is stored.
+     *
+     * @param tokenKey   The token key
+     * @param staleToken The token being replaced, null if any valid token is acceptable
+     * @param refresher  Retrieves a new token from the token endpoint
+     * @return the new token
+     * @throws ConnectException if the token could not be refreshed
+     */
+    Token refresh(String tokenKey, Token staleToken, TokenRefresher refresher) throws ConnectException;
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.wso2.integration.connector.core.ConnectException;
+
+/**
+ * Obtains a new token from the token endpoint without a message context, used to renew tokens in the background.
+ */
+public interface TokenRefresher {
+
+    /**
+     * Retrieves a new token from the token endpoint.
+     *
+     * @return the new token
+     * @throws ConnectException if the token could not be retrieved
+     */
+    Token refresh() throws ConnectException;
+}
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.registry.Registry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * The TokenRegistryWriter persists the access tokens to the registry off the message path.
+ * Writes are queued per registry path and executed by a single writer thread. A write queued while an earlier
+ * write of the same path is still pending replaces it, hence only the latest token of a path is persisted.
+ * The token and its timestamp of a path are written by the writer thread one after the other, hence writes of this
+ * node do not interleave. The registry API has no single update setting the content of a resource together with a
+ * different property value, so the two writes are not atomic and a reader may see the new timestamp before the new
+ * token. A failed write stays pending and is retried, unless a later write of the path replaces it. Pending writes
+ * are flushed when the runtime shuts down.
+ */
+public class TokenRegistryWriter {
+
+    private static final Log log = LogFactory.getLog(TokenRegistryWriter.class);
+
+    private static final String TIMESTAMP_PROPERTY = "timestamp";
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    private static final Map<String, PendingWrite> PENDING_WRITES = new ConcurrentHashMap<>();
+    private static final Object WRITE_LOCK = new Object();
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "connector-token-registry-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(TokenRegistryWriter::flush,
+                "connector-token-registry-flush"));
+    }
+
+    private TokenRegistryWriter() {
+
+    }
+
+    /**
+     * Function to queue the persistence of an access token.
+     *
+     * @param registry      The registry
+     * @param registryPath  The registry path of the token
+     * @param accessToken   The access token
+     * @param refreshedTime The time the token was obtained
+     */
+    public static void write(Registry registry, String registryPath, String accessToken, long refreshedTime) {
+
+        PendingWrite pendingWrite = new PendingWrite(registry, accessToken, refreshedTime);
+        if (PENDING_WRITES.put(registryPath, pendingWrite) != null) {
+            // Coalesced with the pending write of the path, which has not been picked up by the writer yet
+            return;
+        }
+        try {
+            WRITER.execute(() -> persist(registryPath));
+        } catch (RejectedExecutionException e) {
+            persist(registryPath);
+        }
+    }
+
+    /**
+     * Function to check whether a token of the registry path is waiting to be persisted.
+     */
+    static boolean isPending(String registryPath) {
+
+        return PENDING_WRITES.containsKey(registryPath);
+    }
+
+    /**
+     * Function to persist all the pending writes on the calling thread.
+     */
+    public static void flush() {
+
+        for (String registryPath : PENDING_WRITES.keySet()) {
+            persist(registryPath);
+        }
+    }
+
+    private static void persist(String registryPath) {
+
+        synchronized (WRITE_LOCK) {
+            PendingWrite pendingWrite = PENDING_WRITES.remove(registryPath);
+            if (pendingWrite == null) {
+                return;
+            }
+            try {
+                Registry registry = pendingWrite.registry;
+                // Writes the timestamp as both the content and the property, the content is then replaced by the token
+                registry.newNonEmptyResource(registryPath, false, "text/plain",
+                        Long.toString(pendingWrite.refreshedTime), TIMESTAMP_PROPERTY);
+                registry.updateResource(registryPath, pendingWrite.accessToken);
+                if (!PENDING_WRITES.containsKey(registryPath)) {
+                    // Lets the cached token be revalidated against the version that was just written
+                    RegistryTokenCache.put(registryPath, pendingWrite.accessToken, pendingWrite.refreshedTime,
+                            RegistryTokenCache.getVersion(registry, registryPath));
+                }
+            } catch (Exception e) {
+                if (PENDING_WRITES.putIfAbsent(registryPath, pendingWrite) == null) {
+                    log.warn(format("Error occurred while persisting the access token to %s, retrying in %d ms.",
+                            registryPath, RETRY_DELAY_MILLIS), e);
+                    scheduleRetry(registryPath);
+                } else {
+                    log.warn(format("Error occurred while persisting the access token to %s, a newer token is"
+                            + " pending.", registryPath), e);
+                }
+            }
+        }
+    }
+
+    private static void scheduleRetry(String registryPath) {
+
+        try {
+            WRITER.schedule(() -> persist(registryPath), RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn(format("Unable to schedule the retry of the access token write to %s, it is retried at"
+                    + " shutdown.", registryPath));
+        }
+    }
+
+    private static class PendingWrite {
+
+        private final Registry registry;
+        private final String accessToken;
+        private final long refreshedTime;
+
+        private PendingWrite(Registry registry, String accessToken, long refreshedTime) {
+
+            this.registry = registry;
+            this.accessToken = accessToken;
+            this.refreshedTime = refreshedTime;
+        }
+    }
+}
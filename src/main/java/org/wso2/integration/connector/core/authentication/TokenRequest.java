@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.lang3.StringUtils;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable request for an access token of an OAuth 2.0 grant. The token key identifying the token in the
+ * TokenManager is computed once, from the name of the request, the token endpoint and the request parameters.
+ * The assertion of the JWT bearer grant is signed per request, hence the issuer, subject and audience it asserts
+ * take its place in the token key.
+ */
+public final class TokenRequest {
+
+    private static final String[] ASSERTION_KEY_CLAIMS = {"iss", "sub", "aud"};
+
+    private final String grantType;
+    private final String tokenEndpoint;
+    private final Map<String, String> parameters;
+    private final String tokenKey;
+
+    /**
+     * Creates a token request.
+     *
+     * @param name          name of the request, such as the connection name, which prefixes the token key
+     * @param grantType     the grant type
+     * @param tokenEndpoint the token endpoint
+     * @param parameters    the request parameters other than the grant type, blank values are left out
+     */
+    public TokenRequest(String name, String grantType, String tokenEndpoint, Map<String, String> parameters) {
+
+        this.grantType = grantType;
+        this.tokenEndpoint = tokenEndpoint;
+        Map<String, String> requestParameters = new HashMap<>();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (StringUtils.isNotBlank(parameter.getValue())) {
+                requestParameters.put(parameter.getKey(), parameter.getValue());
+            }
+        }
+        this.parameters = Collections.unmodifiableMap(requestParameters);
+        this.tokenKey = name + "_" + Objects.hash(tokenEndpoint, getKeyParameters(grantType, this.parameters));
+    }
+
+    /**
+     * Creates a request of the client credentials grant.
+     */
+    public static TokenRequest clientCredentials(String name, String tokenEndpoint, String clientId,
+                                                 String clientSecret, String scope) {
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(Constants.OAuth2.CLIENT_ID, clientId);
+        parameters.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+        parameters.put(Constants.OAuth2.SCOPE, scope);
+        return new TokenRequest(name, Constants.OAuth2.CLIENT_CREDENTIALS, tokenEndpoint, parameters);
+    }
+
+    /**
+     * Creates a request of the refresh token grant.
+     */
+    public static TokenRequest refreshToken(String name, String tokenEndpoint, String clientId,
+                                            String clientSecret, String refreshToken) {
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(Constants.OAuth2.REFRESH_TOKEN, refreshToken);
+        parameters.put(Constants.OAuth2.CLIENT_ID, clientId);
+        parameters.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+        return new TokenRequest(name, Constants.OAuth2.REFRESH_TOKEN, tokenEndpoint, parameters);
+    }
+
+    /**
+     * Creates a request of the resource owner password credentials grant.
+     */
+    public static TokenRequest password(String name, String tokenEndpoint, String clientId, String clientSecret,
+                                        String username, String password, String scope) {
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(Constants.OAuth2.USERNAME, username);
+        parameters.put(Constants.OAuth2.PASSWORD, password);
+        parameters.put(Constants.OAuth2.CLIENT_ID, clientId);
+        parameters.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+        parameters.put(Constants.OAuth2.SCOPE, scope);
+        return new TokenRequest(name, Constants.OAuth2.PASSWORD, tokenEndpoint, parameters);
+    }
+
+    /**
+     * Creates a request of the JWT bearer grant, with a signed JWT as the assertion.
+     */
+    public static TokenRequest jwtBearer(String name, String tokenEndpoint, String assertion, String clientId,
+                                         String clientSecret, String scope) {
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(Constants.OAuth2.ASSERTION, assertion);
+        parameters.put(Constants.OAuth2.CLIENT_ID, clientId);
+        parameters.put(Constants.OAuth2.CLIENT_SECRET, clientSecret);
+        parameters.put(Constants.OAuth2.SCOPE, scope);
+        return new TokenRequest(name, Constants.OAuth2.JWT_BEARER, tokenEndpoint, parameters);
+    }
+
+    /**
+     * Function to check whether the credential of the request can be used once only, in which case the request
+     * cannot be replayed to renew the token.
+     */
+    public boolean isSingleUse() {
+
+        return Constants.OAuth2.JWT_BEARER.equals(grantType);
+    }
+
+    public String getGrantType() {
+
+        return grantType;
+    }
+
+    public String getTokenEndpoint() {
+
+        return tokenEndpoint;
+    }
+
+    public Map<String, String> getParameters() {
+
+        return parameters;
+    }
+
+    public String getTokenKey() {
+
+        return tokenKey;
+    }
+
+    private static Map<String, String> getKeyParameters(String grantType, Map<String, String> parameters) {
+
+        String assertion = parameters.get(Constants.OAuth2.ASSERTION);
+        if (!Constants.OAuth2.JWT_BEARER.equals(grantType) || assertion == null) {
+            return parameters;
+        }
+        JsonObject claims = getClaims(assertion);
+        if (claims == null) {
+            // Not a JWT, hence the assertion itself identifies the token
+            return parameters;
+        }
+        Map<String, String> keyParameters = new HashMap<>(parameters);
+        keyParameters.remove(Constants.OAuth2.ASSERTION);
+        for (String claim : ASSERTION_KEY_CLAIMS) {
+            JsonElement value = claims.get(claim);
+            keyParameters.put(Constants.OAuth2.ASSERTION + "." + claim, value != null ? value.toString() : null);
+        }
+        return keyParameters;
+    }
+
+    private static JsonObject getClaims(String assertion) {
+
+        String[] segments = assertion.split("\\.");
+        if (segments.length < 2) {
+            return null;
+        }
+        try {
+            JsonElement claims = JsonParser.parseString(
+                    new String(Base64.getUrlDecoder().decode(segments[1]), StandardCharsets.UTF_8));
+            return claims.isJsonObject() ? claims.getAsJsonObject() : null;
+        } catch (IllegalArgumentException | JsonParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+/**
+ * The TokenResponse holds the fields of a token endpoint response used by the connectors.
+ */
+public class TokenResponse {
+
+    private final String accessToken;
+    private final Long expiresIn;
+    private final String refreshToken;
+    private final String tokenType;
+    private final String scope;
+    private final String instanceUrl;
+
+    public TokenResponse(String accessToken, Long expiresIn, String refreshToken, String tokenType, String scope,
+                         String instanceUrl) {
+
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+        this.tokenType = tokenType;
+        this.scope = scope;
+        this.instanceUrl = instanceUrl;
+    }
+
+    public String getAccessToken() {
+
+        return accessToken;
+    }
+
+    /**
+     * @return the lifetime of the access token in seconds, null if the response does not state it
+     */
+    public Long getExpiresIn() {
+
+        return expiresIn;
+    }
+
+    public String getRefreshToken() {
+
+        return refreshToken;
+    }
+
+    public String getTokenType() {
+
+        return tokenType;
+    }
+
+    public String getScope() {
+
+        return scope;
+    }
+
+    public String getInstanceUrl() {
+
+        return instanceUrl;
+    }
+}
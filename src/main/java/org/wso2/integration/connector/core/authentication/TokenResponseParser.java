@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (https://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.integration.connector.core.authentication;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static java.lang.String.format;
+
+/**
+ * The TokenResponseParser reads token endpoint responses. The JSON response is read as a stream, only the fields
+ * of the TokenResponse are kept and all the other fields are skipped without being materialized. Responses larger
+ * than the maximum response size are rejected.
+ */
+public class TokenResponseParser {
+
+    private static final int DEFAULT_MAX_RESPONSE_SIZE = 64 * 1024;
+
+    private static volatile int maxResponseSize = DEFAULT_MAX_RESPONSE_SIZE;
+
+    private TokenResponseParser() {
+
+    }
+
+    /**
+     * Function to configure the maximum size of the token endpoint responses.
+     *
+     * @param maxResponseSizeBytes maximum size of a response in bytes
+     */
+    public static void configure(int maxResponseSizeBytes) {
+
+        maxResponseSize = maxResponseSizeBytes;
+    }
+
+    /**
+     * Function to parse the token response held by the entity.
+     *
+     * @param entity The response entity
+     * @return the token response
+     * @throws IOException if the response is not a JSON object or exceeds the maximum response size
+     */
+    public static TokenResponse parse(HttpEntity entity) throws IOException {
+
+        try (Reader reader = openReader(entity, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Function to parse a token response.
+     *
+     * @param response The response
+     * @return the token response
+     * @throws IOException if the response is not a JSON object
+     */
+    public static TokenResponse parse(String response) throws IOException {
+
+        return parse(new StringReader(response));
+    }
+
+    /**
+     * Function to read the entity as a string, for the responses that are not parsed such as error responses.
+     *
+     * @param entity         The response entity
+     * @param defaultCharset The charset used if the entity does not state one
+     * @return the content of the entity
+     * @throws IOException if the response exceeds the maximum response size
+     */
+    public static String toString(HttpEntity entity, Charset defaultCharset) throws IOException {
+
+        try (Reader reader = openReader(entity, defaultCharset)) {
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[1024];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, length);
+            }
+            return content.toString();
+        }
+    }
+
+    private static TokenResponse parse(Reader reader) throws IOException {
+
+        String accessToken = null;
+        Long expiresIn = null;
+        String refreshToken = null;
+        String tokenType = null;
+        String scope = null;
+        String instanceUrl = null;
+        try {
+            JsonReader jsonReader = new JsonReader(reader);
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case Constants.OAuth2.ACCESS_TOKEN:
+                        accessToken = jsonReader.nextString();
+                        break;
+                    case Constants.OAuth2.EXPIRES_IN:
+                        // Some identity providers send the lifetime as a string or a decimal
+                        expiresIn = (long) jsonReader.nextDouble();
+                        break;
+                    case Constants.OAuth2.REFRESH_TOKEN:
+                        refreshToken = jsonReader.nextString();
+                        break;
+                    case "token_type":
+                        tokenType = jsonReader.nextString();
+                        break;
+                    case "scope":
+                        scope = jsonReader.nextString();
+                        break;
+                    case "instance_url":
+                        instanceUrl = jsonReader.nextString();
+                        break;
+                    default:
+                        jsonReader.skipValue();
+                }
+            }
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Invalid token response.", e);
+        }
+        return new TokenResponse(accessToken, expiresIn, refreshToken, tokenType, scope, instanceUrl);
+    }
+
+    private static Reader openReader(HttpEntity entity, Charset defaultCharset) throws IOException {
+
+        int maxSize = maxResponseSize;
+        if (entity.getContentLength() > maxSize) {
+            throw new IOException(format("Token response of %d bytes exceeds the maximum size of %d bytes.",
+                    entity.getContentLength(), maxSize));
+        }
+        ContentType contentType = ContentType.get(entity);
+        Charset charset = contentType != null && contentType.getCharset() != null ? contentType.getCharset()
+                : defaultCharset;
+        return new InputStreamReader(new BoundedInputStream(entity.getContent(), maxSize), charset);
+    }
+
+    /**
+     * Fails the read once more than the maximum size has been read, as the content length may not be known.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+
+        private final int maxSize;
+        private int count;
+
+        private BoundedInputStream(InputStream in, int maxSize) {
+
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int value = super.read();
+            if (value != -1) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int read) throws IOException {
+
+            count += read;
+            if (count > maxSize) {
+                throw new IOException(format("Token response exceeds the maximum size of %d bytes.", maxSize));
+            }
+        }
+    }
+}
@@ -38,6 +38,24 @@ public interface TokenStore {
      */
     Token remove(String tokenKey);
 
+    /**
+     * Function to remove token from the store only if it is still the given stale token. Stores that do not add
+     * tokens while holding their own lock must override this to stay atomic.
+     *
+     * @return true if the stale token was removed
+     */
+    default boolean remove(String tokenKey, Token staleToken) {
+
+        synchronized (this) {
+            Token current = get(tokenKey);
+            if (current == null || !current.getAccessToken().equals(staleToken.getAccessToken())) {
+                return false;
+            }
+            remove(tokenKey);
+            return true;
+        }
+    }
+
     /**
      * Function to clean token store.
      */
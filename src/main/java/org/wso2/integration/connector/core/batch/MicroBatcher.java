@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.batch;
+
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Collects items submitted by concurrent callers into batches and executes each batch with a single call.
+ * A batch is dispatched once it reaches the maximum number of items or bytes, or once its first item has
+ * waited for the linger time. The result of each item is delivered through the future returned on submit.
+ * Items whose deadline passed, or whose future was completed, while they were queued are left out of the batch.
+ *
+ * @param <I> type of the batch items
+ * @param <R> type of the item results
+ */
+public class MicroBatcher<I, R> {
+
+    private static final ScheduledExecutorService LINGER_SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "connector-batch-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+    private final long lingerMillis;
+    private final Executor executor;
+    private final BatchExecutor<I, R> batchExecutor;
+
+    private Batch<I, R> currentBatch;
+
+    /**
+     * Executes a batch of items
+     *
+     * @param <I> type of the batch items
+     * @param <R> type of the item results
+     */
+    public interface BatchExecutor<I, R> {
+
+        /**
+         * Executes the batch
+         *
+         * @param items    items of the batch
+         * @param deadline earliest deadline of the items, null if none of them has a deadline
+         * @return results of the items, in the same order as the items
+         * @throws ConnectException if the batch failed
+         */
+        List<R> execute(List<I> items, Deadline deadline) throws ConnectException;
+    }
+
+    public MicroBatcher(int maxBatchSize, long maxBatchBytes, long lingerMillis, Executor executor,
+                        BatchExecutor<I, R> batchExecutor) {
+
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.maxBatchBytes = maxBatchBytes;
+        this.lingerMillis = Math.max(lingerMillis, 0);
+        this.executor = executor;
+        this.batchExecutor = batchExecutor;
+    }
+
+    /**
+     * Adds an item to the current batch
+     *
+     * @param item      item to be added
+     * @param sizeBytes size of the item in bytes, used for the byte volume trigger
+     * @return a future that completes with the result of the item once the batch is executed
+     */
+    public CompletableFuture<R> submit(I item, long sizeBytes) {
+
+        return submit(item, sizeBytes, null);
+    }
+
+    /**
+     * Adds an item with a deadline to the current batch. The item is failed instead of being executed if its
+     * deadline has passed by the time the batch is executed.
+     *
+     * @param item      item to be added
+     * @param sizeBytes size of the item in bytes, used for the byte volume trigger
+     * @param deadline  deadline of the item, can be null
+     * @return a future that completes with the result of the item once the batch is executed
+     */
+    public CompletableFuture<R> submit(I item, long sizeBytes, Deadline deadline) {
+
+        CompletableFuture<R> future = new CompletableFuture<>();
+        Batch<I, R> fullBatch = null;
+        Batch<I, R> newBatch = null;
+        synchronized (this) {
+            if (currentBatch == null) {
+                currentBatch = new Batch<>();
+                newBatch = currentBatch;
+            }
+            currentBatch.add(item, sizeBytes, deadline, future);
+            if (currentBatch.items.size() >= maxBatchSize
+                    || (maxBatchBytes > 0 && currentBatch.bytes >= maxBatchBytes)) {
+                fullBatch = currentBatch;
+                currentBatch = null;
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        } else if (newBatch != null) {
+            Batch<I, R> lingeringBatch = newBatch;
+            LINGER_SCHEDULER.schedule(() -> flush(lingeringBatch), lingerMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    private void flush(Batch<I, R> batch) {
+
+        synchronized (this) {
+            if (currentBatch != batch) {
+                // Already dispatched as it became full
+                return;
+            }
+            currentBatch = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<I, R> batch) {
+
+        try {
+            executor.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.fail(e);
+        }
+    }
+
+    private void execute(Batch<I, R> batch) {
+
+        Batch<I, R> liveBatch = batch.removeExpired();
+        if (liveBatch.items.isEmpty()) {
+            return;
+        }
+        List<R> results;
+        try {
+            results = batchExecutor.execute(liveBatch.items, liveBatch.getEarliestDeadline());
+        } catch (Throwable e) {
+            // Errors fail the items as well, otherwise their callers would wait forever
+            liveBatch.fail(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return;
+        }
+        if (results == null || results.size() != liveBatch.items.size()) {
+            liveBatch.fail(new ConnectException(format("Batch of %d items returned %d results.",
+                    liveBatch.items.size(), results == null ? 0 : results.size())));
+            return;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            liveBatch.futures.get(i).complete(results.get(i));
+        }
+    }
+
+    private static class Batch<I, R> {
+
+        private final List<I> items = new ArrayList<>();
+        private final List<Deadline> deadlines = new ArrayList<>();
+        private final List<CompletableFuture<R>> futures = new ArrayList<>();
+        private long bytes;
+
+        private void add(I item, long sizeBytes, Deadline deadline, CompletableFuture<R> future) {
+
+            items.add(item);
+            deadlines.add(deadline);
+            futures.add(future);
+            bytes += sizeBytes;
+        }
+
+        /**
+         * Fails the items whose deadline has passed and leaves out the items whose future is already completed,
+         * e.g. by the deadline of the operation.
+         *
+         * @return the batch of the remaining items
+         */
+        private Batch<I, R> removeExpired() {
+
+            Batch<I, R> liveBatch = new Batch<>();
+            for (int i = 0; i < items.size(); i++) {
+                CompletableFuture<R> future = futures.get(i);
+                Deadline deadline = deadlines.get(i);
+                if (deadline != null && deadline.isExpired()) {
+                    future.completeExceptionally(new DeadlineExceededException(
+                            "Deadline exceeded while the item was waiting for its batch."));
+                } else if (!future.isDone()) {
+                    liveBatch.add(items.get(i), 0, deadline, future);
+                }
+            }
+            return liveBatch;
+        }
+
+        private Deadline getEarliestDeadline() {
+
+            Deadline earliest = null;
+            for (Deadline deadline : deadlines) {
+                if (deadline != null
+                        && (earliest == null || deadline.getExpiryTimeMillis() < earliest.getExpiryTimeMillis())) {
+                    earliest = deadline;
+                }
+            }
+            return earliest;
+        }
+
+        private void fail(Throwable e) {
+
+            for (CompletableFuture<R> future : futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
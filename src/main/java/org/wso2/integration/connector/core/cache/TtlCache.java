@@ -0,0 +1,245 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cache whose entries expire after a per-entry time to live. The cache is bounded by the number of
+ * entries and by their total size in bytes. When a bound is exceeded, a sample of the entries is inspected and
+ * expired entries are evicted first, followed by the least frequently accessed ones. A new entry is only admitted
+ * if it is accessed more frequently than the entry it would evict, so that one-off lookups do not flush the
+ * popular entries out of the cache.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class TtlCache<K, V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+    private static final int MAX_SAMPLE_OFFSET = 32;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    /**
+     * Creates the cache
+     *
+     * @param maxEntries maximum number of entries
+     * @param maxBytes   maximum total size of the entries in bytes, a value less than 1 disables the size bound
+     */
+    public TtlCache(int maxEntries, long maxBytes) {
+
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.maxBytes = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+        this.sketch = new FrequencySketch(this.maxEntries);
+    }
+
+    /**
+     * Returns the value of the key if it is present and not expired
+     *
+     * @param key key of the entry
+     * @return the value, null if there is no live entry for the key
+     */
+    public V get(K key) {
+
+        sketch.increment(key);
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            remove(key, entry);
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Adds a value to the cache, replacing the existing value of the key
+     *
+     * @param key        key of the entry
+     * @param value      value of the entry
+     * @param ttlMillis  time to live of the entry in milliseconds
+     * @param sizeBytes  size of the entry in bytes
+     */
+    public void put(K key, V value, long ttlMillis, long sizeBytes) {
+
+        if (ttlMillis <= 0 || sizeBytes > maxBytes) {
+            invalidate(key);
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttlMillis, sizeBytes);
+        synchronized (evictionLock) {
+            Entry<V> previous = entries.put(key, entry);
+            totalBytes.addAndGet(sizeBytes - (previous != null ? previous.sizeBytes : 0));
+            while (entries.size() > maxEntries || totalBytes.get() > maxBytes) {
+                if (!evict(key)) {
+                    // The new entry lost against the sampled entries, hence it is not admitted
+                    remove(key, entry);
+                    evictionCount.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the entry of the key
+     *
+     * @param key key of the entry
+     */
+    public void invalidate(K key) {
+
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            totalBytes.addAndGet(-entry.sizeBytes);
+        }
+    }
+
+    /**
+     * Removes all the entries
+     */
+    public void clear() {
+
+        synchronized (evictionLock) {
+            entries.clear();
+            totalBytes.set(0);
+        }
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    public long getTotalBytes() {
+
+        return totalBytes.get();
+    }
+
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    /**
+     * Evicts one entry other than the candidate
+     *
+     * @param candidate key of the entry being admitted
+     * @return false if the candidate is less frequent than every sampled entry
+     */
+    private boolean evict(K candidate) {
+
+        long now = System.currentTimeMillis();
+        K victim = null;
+        Entry<V> victimEntry = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        int size = entries.size();
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        int offset = ThreadLocalRandom.current().nextInt(Math.min(size, MAX_SAMPLE_OFFSET) + 1);
+        for (int i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        int sampled = 0;
+        // The sample wraps around to the first entries, hence every entry can be sampled regardless of the offset
+        for (int visited = 0; visited < size && sampled < EVICTION_SAMPLE_SIZE; visited++) {
+            if (!iterator.hasNext()) {
+                iterator = entries.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    break;
+                }
+            }
+            Map.Entry<K, Entry<V>> sample = iterator.next();
+            if (sample.getKey().equals(candidate)) {
+                continue;
+            }
+            if (sample.getValue().isExpired(now)) {
+                victim = sample.getKey();
+                victimEntry = sample.getValue();
+                break;
+            }
+            int frequency = sketch.frequency(sample.getKey());
+            if (frequency < victimFrequency) {
+                victim = sample.getKey();
+                victimEntry = sample.getValue();
+                victimFrequency = frequency;
+            }
+            sampled++;
+        }
+        if (victim == null) {
+            return false;
+        }
+        if (!victimEntry.isExpired(now) && victimFrequency > sketch.frequency(candidate)) {
+            return false;
+        }
+        remove(victim, victimEntry);
+        evictionCount.incrementAndGet();
+        return true;
+    }
+
+    private void remove(K key, Entry<V> entry) {
+
+        if (entries.remove(key, entry)) {
+            totalBytes.addAndGet(-entry.sizeBytes);
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long expiryTime;
+        private final long sizeBytes;
+
+        private Entry(V value, long expiryTime, long sizeBytes) {
+
+            this.value = value;
+            this.expiryTime = expiryTime;
+            this.sizeBytes = sizeBytes;
+        }
+
+        private boolean isExpired(long now) {
+
+            return now >= expiryTime;
+        }
+    }
+}
@@ -22,19 +22,28 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.config.SynapseConfiguration;
 import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.authentication.TokenEndpointClient;
+import org.wso2.integration.connector.core.authentication.TokenRegistryWriter;
+import org.wso2.integration.connector.core.limiter.ConcurrencyLimiter;
+import org.wso2.integration.connector.core.limiter.TokenBucketRateLimiter;
 import org.wso2.integration.connector.core.pool.CircuitBreakerConnectionPool;
 import org.wso2.integration.connector.core.pool.Configuration;
 import org.wso2.integration.connector.core.pool.ConnectionFactory;
 import org.wso2.integration.connector.core.pool.ConnectionPool;
 import org.wso2.integration.connector.core.pool.PoolState;
+import org.wso2.integration.connector.core.retry.RetryHandler;
 import org.wso2.integration.connector.core.util.ConnectorUtils;
 import org.wso2.integration.connector.core.util.Constants;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -55,6 +64,13 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
     private final Map<String, Configuration> configurationMap;
     private final ConcurrentHashMap<String, LocalEntryUndeployObserver> observerMap = new ConcurrentHashMap();
     private final Map<String, PoolState> connectionPoolStateMap = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrencyLimiter> concurrencyLimiterMap = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucketRateLimiter> rateLimiterMap = new ConcurrentHashMap<>();
+    private final Map<String, RetryHandler> retryHandlerMap = new ConcurrentHashMap<>();
+    // Concurrency limiter slots held by the borrowed connections, released when the connections are returned,
+    // invalidated or their pool is closed
+    private final Map<Connection, LimiterLease> limiterLeaseMap =
+            Collections.synchronizedMap(new IdentityHashMap<>());
     private SynapseConfiguration synapseConfiguration = null;
 
     private ReentrantLock lock = new ReentrantLock();
@@ -152,6 +168,8 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
 
     private void createConnectionPool(String key, ConnectionFactory factory, Configuration configuration) {
 
+        // Validated before the pool is created, as the pool starts its own tasks
+        boolean rateLimited = isRateLimited(configuration);
         ConnectionPool pool;
         if (configuration.isCircuitBreakerEnabled()) {
             PoolState poolState = connectionPoolStateMap.computeIfAbsent(key, k -> new PoolState());
@@ -159,10 +177,40 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
         } else {
             pool = new ConnectionPool(factory, configuration);
         }
+        if (configuration.isConcurrencyLimitEnabled()) {
+            concurrencyLimiterMap.computeIfAbsent(key, k -> ConcurrencyLimiter.create(configuration));
+        }
+        if (rateLimited) {
+            rateLimiterMap.computeIfAbsent(key, k -> new TokenBucketRateLimiter(
+                    configuration.getRateLimitPermitsPerSecond(), configuration.getRateLimitBurstCapacity()));
+        }
+        if (configuration.isRetryEnabled()) {
+            retryHandlerMap.computeIfAbsent(key, k -> new RetryHandler(configuration));
+        }
 
         connectionMap.putIfAbsent(key, pool);
     }
 
+    /**
+     * Checks whether the requests of the connection are to be rate limited. An invalid rate runs the connection
+     * without a rate limit.
+     *
+     * @param configuration the pool configuration
+     * @return true if rate limiting is enabled with a valid rate
+     */
+    private static boolean isRateLimited(Configuration configuration) {
+
+        if (!configuration.isRateLimitEnabled()) {
+            return false;
+        }
+        if (configuration.getRateLimitPermitsPerSecond() <= 0) {
+            log.warn(format("Invalid rate limit: %s requests per second. Rate limiting is disabled.",
+                    configuration.getRateLimitPermitsPerSecond()));
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Stores a new single connection
      *
@@ -228,6 +276,41 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
      */
     public Connection getConnection(String connector, String connectionName) throws ConnectException {
 
+        return getConnection(connector, connectionName, (Deadline) null);
+    }
+
+    /**
+     * Retrieve connection by connector name and connection name within the deadline of the message, if set
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param messageContext Message Context
+     * @return the connection
+     * @throws ConnectException if failed to get connection or the deadline is exceeded
+     */
+    public Connection getConnection(String connector, String connectionName, MessageContext messageContext)
+            throws ConnectException {
+
+        return getConnection(connector, connectionName, Deadline.from(messageContext));
+    }
+
+    /**
+     * Retrieve connection by connector name and connection name within the given deadline.
+     * The rate limit wait and retries are bounded by the deadline, and a connection obtained
+     * after the deadline is returned to the pool immediately.
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param deadline       Deadline of the message, can be null
+     * @return the connection
+     * @throws ConnectException if failed to get connection or the deadline is exceeded
+     */
+    public Connection getConnection(String connector, String connectionName, Deadline deadline)
+            throws ConnectException {
+
+        if (deadline != null) {
+            deadline.check("retrieving connection " + connectionName);
+        }
         Connection connection = null;
         String connectorCode = getCode(connector, connectionName);
         Object connectionObj = connectionMap.get(connectorCode);
@@ -240,7 +323,13 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
                                 configurationMap.get(connectorCode));
                     }
                 }
-                connection = (Connection) ((ConnectionPool) connectionMap.get(connectorCode)).borrowObject();
+                RetryHandler retryHandler = retryHandlerMap.get(connectorCode);
+                if (retryHandler != null) {
+                    connection = retryHandler.execute(() -> borrowConnection(connector, connectionName,
+                            connectorCode, deadline), deadline);
+                } else {
+                    connection = borrowConnection(connector, connectionName, connectorCode, deadline);
+                }
             } else if (connectionObj instanceof Connection) {
                 connection = (Connection) connectionObj;
             }
@@ -251,6 +340,94 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
         return connection;
     }
 
+    /**
+     * Retrieve the retry handler of the connection
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @return the retry handler, null if retries are not enabled for the connection
+     */
+    public RetryHandler getRetryHandler(String connector, String connectionName) {
+
+        return retryHandlerMap.get(getCode(connector, connectionName));
+    }
+
+    /**
+     * Borrows a connection from the pool within the rate limit and the concurrency limit of the connection,
+     * if defined.
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param connectorCode  Connection code
+     * @param deadline       Deadline of the message, can be null
+     * @return the borrowed connection
+     * @throws ConnectException if a limit is reached, the deadline is exceeded or failed to borrow the connection
+     */
+    private Connection borrowConnection(String connector, String connectionName, String connectorCode,
+                                        Deadline deadline) throws ConnectException {
+
+        acquireRatePermit(connector, connectionName, connectorCode, deadline);
+        Connection connection;
+        ConcurrencyLimiter limiter = concurrencyLimiterMap.get(connectorCode);
+        if (limiter == null) {
+            connection = (Connection) ((ConnectionPool) connectionMap.get(connectorCode)).borrowObject();
+        } else {
+            if (!limiter.tryAcquire()) {
+                throw new ConnectException(format("Concurrency limit of %d reached for connection %s of %s " +
+                        "connector. Request rejected.", limiter.getLimit(), connectionName, connector));
+            }
+            long borrowTime = System.nanoTime();
+            try {
+                connection = (Connection) ((ConnectionPool) connectionMap.get(connectorCode)).borrowObject();
+            } catch (ConnectException | RuntimeException e) {
+                limiter.onDropped();
+                throw e;
+            }
+            limiterLeaseMap.put(connection, new LimiterLease(connectorCode, limiter, borrowTime));
+        }
+        if (deadline != null && deadline.isExpired()) {
+            // The pool wait consumed the remaining time, hence release the connection for other requests
+            returnConnection(connector, connectionName, connection);
+            deadline.check("using connection " + connectionName);
+        }
+        return connection;
+    }
+
+    /**
+     * Acquires a permit from the rate limiter of the connection, if defined.
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param connectorCode  Connection code
+     * @param deadline       Deadline of the message, can be null
+     * @throws ConnectException if the permit is not available within the configured wait time or the deadline
+     */
+    private void acquireRatePermit(String connector, String connectionName, String connectorCode,
+                                   Deadline deadline) throws ConnectException {
+
+        TokenBucketRateLimiter rateLimiter = rateLimiterMap.get(connectorCode);
+        if (rateLimiter == null) {
+            return;
+        }
+        long maxWaitMillis = configurationMap.get(connectorCode).getRateLimitMaxWaitMillis();
+        if (deadline != null && maxWaitMillis > 0) {
+            maxWaitMillis = Math.min(maxWaitMillis, deadline.remainingMillis());
+        }
+        boolean acquired;
+        try {
+            acquired = maxWaitMillis > 0 ? rateLimiter.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)
+                    : rateLimiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted while waiting for the rate limit of connection "
+                    + connectionName);
+        }
+        if (!acquired) {
+            throw new ConnectException(format("Rate limit of %s requests per second exceeded for connection %s " +
+                    "of %s connector. Request rejected.", rateLimiter.getPermitsPerSecond(), connectionName, connector));
+        }
+    }
+
     /**
      * Closes the connection.
      *
@@ -265,6 +442,7 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
                     ((ConnectionPool)connectionMap.get(connectorCode)).close();
                     connectionMap.remove(connectorCode);
                     connectionPoolStateMap.remove(connectorCode);
+                    releaseLimiterLeases(connectorCode);
                 }
             } catch (ConnectException e) {
                 log.error("Failed to close connection pool. ", e);
@@ -288,6 +466,55 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
         if (connectionObj instanceof ConnectionPool) {
             ((ConnectionPool) connectionObj).returnObject(connection);
         }
+        LimiterLease lease = limiterLeaseMap.remove(connection);
+        if (lease != null) {
+            lease.limiter.onSuccess(System.nanoTime() - lease.borrowTime);
+        }
+    }
+
+    /**
+     * Invalidates a borrowed connection that can no longer be used, e.g. after a connection failure. The connection
+     * is destroyed instead of being returned to the pool.
+     *
+     * @param connector      Name of the connector
+     * @param connectionName Name of the connection
+     * @param connection     Connection to be invalidated
+     */
+    public void invalidateConnection(String connector, String connectionName, Connection connection) {
+
+        String connectorCode = this.getCode(connector, connectionName);
+        Object connectionObj = this.connectionMap.get(connectorCode);
+        if (connectionObj instanceof ConnectionPool) {
+            try {
+                ((ConnectionPool) connectionObj).invalidateObject(connection);
+            } catch (Exception e) {
+                log.error("Error occurred while invalidating the connection " + connectionName, e);
+            }
+        }
+        LimiterLease lease = limiterLeaseMap.remove(connection);
+        if (lease != null) {
+            lease.limiter.onDropped();
+        }
+    }
+
+    /**
+     * Releases the concurrency limiter slots held by the connections borrowed from the pool of the connection code,
+     * as these connections are not returned once the pool is closed.
+     *
+     * @param connectorCode Connection code
+     */
+    private void releaseLimiterLeases(String connectorCode) {
+
+        synchronized (limiterLeaseMap) {
+            Iterator<LimiterLease> it = limiterLeaseMap.values().iterator();
+            while (it.hasNext()) {
+                LimiterLease lease = it.next();
+                if (lease.connectorCode.equals(connectorCode)) {
+                    lease.limiter.onIgnored();
+                    it.remove();
+                }
+            }
+        }
     }
 
     /**
@@ -300,6 +527,12 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
             closeConnection(connection.getKey(), connection.getValue());
         }
         connectionMap.clear();
+        limiterLeaseMap.clear();
+        concurrencyLimiterMap.clear();
+        rateLimiterMap.clear();
+        retryHandlerMap.clear();
+        TokenEndpointClient.shutdown();
+        TokenRegistryWriter.flush();
     }
 
     /**
@@ -316,6 +549,10 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
             if (connection.getKey().split(":")[0].equals(connector)) {
                 closeConnection(connection.getKey(), connection.getValue());
                 connectionPoolStateMap.remove(connection.getKey());
+                releaseLimiterLeases(connection.getKey());
+                concurrencyLimiterMap.remove(connection.getKey());
+                rateLimiterMap.remove(connection.getKey());
+                retryHandlerMap.remove(connection.getKey());
                 it.remove();
             }
         }
@@ -338,6 +575,10 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
                 closeConnection(connection);
                 connectionMap.remove(key);
                 connectionPoolStateMap.remove(key);
+                releaseLimiterLeases(key);
+                concurrencyLimiterMap.remove(key);
+                rateLimiterMap.remove(key);
+                retryHandlerMap.remove(key);
             }
         });
     }
@@ -427,4 +668,20 @@ public class ConnectionHandler implements LocalEntryUndeployCallBack {
         return false;
     }
 
+    /**
+     * Concurrency limiter slot held by a borrowed connection
+     */
+    private static class LimiterLease {
+
+        private final String connectorCode;
+        private final ConcurrencyLimiter limiter;
+        private final long borrowTime;
+
+        private LimiterLease(String connectorCode, ConcurrencyLimiter limiter, long borrowTime) {
+
+            this.connectorCode = connectorCode;
+            this.limiter = limiter;
+            this.borrowTime = borrowTime;
+        }
+    }
 }
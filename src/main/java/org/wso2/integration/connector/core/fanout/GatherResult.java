@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.fanout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a scatter-gather execution. Each connection ends up in exactly one of the results, the failures
+ * or the timed out connections.
+ *
+ * @param <R> type of the branch results
+ */
+public class GatherResult<R> {
+
+    private final Map<String, R> results = new LinkedHashMap<>();
+    private final Map<String, Throwable> failures = new LinkedHashMap<>();
+    private final List<String> timedOut = new ArrayList<>();
+
+    void addResult(String connectionName, R result) {
+
+        results.put(connectionName, result);
+    }
+
+    void addFailure(String connectionName, Throwable error) {
+
+        failures.put(connectionName, error);
+    }
+
+    void addTimedOut(String connectionName) {
+
+        timedOut.add(connectionName);
+    }
+
+    /**
+     * Returns the results of the successful branches, in the order of completion
+     *
+     * @return results keyed by the connection name
+     */
+    public Map<String, R> getResults() {
+
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Returns the errors of the failed branches
+     *
+     * @return errors keyed by the connection name
+     */
+    public Map<String, Throwable> getFailures() {
+
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Returns the connections whose branch did not complete within the branch timeout or the deadline
+     *
+     * @return names of the timed out connections
+     */
+    public List<String> getTimedOut() {
+
+        return Collections.unmodifiableList(timedOut);
+    }
+
+    /**
+     * Checks whether every branch completed successfully
+     *
+     * @return true if there are no failed or timed out branches
+     */
+    public boolean isComplete() {
+
+        return failures.isEmpty() && timedOut.isEmpty();
+    }
+}
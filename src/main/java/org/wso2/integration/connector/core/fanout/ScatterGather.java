@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.fanout;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.connection.Connection;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Executes the same operation against several connections of a connector in parallel, e.g. one connection per
+ * tenant, region or shard. Each branch borrows a connection from its own pool. The number of branches running
+ * at the same time is capped across all the executions of the instance, and each branch is bounded by a timeout.
+ * Results are merged as the branches complete, and the branches that fail or time out are reported instead of
+ * failing the whole execution, hence a slow connection does not dictate the total latency. A branch that times out
+ * is cancelled: it is interrupted, its connection is invalidated instead of being returned to the pool, and its
+ * permit is released as soon as it stops.
+ *
+ * @param <R> type of the branch results
+ */
+public class ScatterGather<R> {
+
+    private static final Log log = LogFactory.getLog(ScatterGather.class);
+
+    private final String connector;
+    private final Semaphore permits;
+    private final long branchTimeoutMillis;
+    private final Executor executor;
+
+    /**
+     * Operation executed on each connection
+     *
+     * @param <R> type of the result
+     */
+    public interface BranchOperation<R> {
+
+        R execute(String connectionName, Connection connection) throws ConnectException;
+    }
+
+    /**
+     * Merges the result of a branch as soon as it completes. Invoked on the thread calling execute, one branch
+     * at a time, in the order of completion.
+     *
+     * @param <R> type of the result
+     */
+    public interface ResultMerger<R> {
+
+        void merge(String connectionName, R result);
+    }
+
+    /**
+     * Creates the scatter-gather executor
+     *
+     * @param connector           name of the connector
+     * @param maxConcurrency      maximum number of branches running at the same time across all executions
+     * @param branchTimeoutMillis timeout of each branch in milliseconds, including the wait for the connection
+     * @param executor            executor running the branches
+     */
+    public ScatterGather(String connector, int maxConcurrency, long branchTimeoutMillis, Executor executor) {
+
+        this.connector = connector;
+        this.permits = new Semaphore(Math.max(maxConcurrency, 1));
+        this.branchTimeoutMillis = branchTimeoutMillis;
+        this.executor = executor;
+    }
+
+    public GatherResult<R> execute(List<String> connectionNames, BranchOperation<R> operation) {
+
+        return execute(connectionNames, operation, null, null);
+    }
+
+    /**
+     * Executes the operation against the connections and waits until every branch completed, failed or timed out.
+     * The operation is executed once per connection, even if a connection name is given more than once.
+     *
+     * @param connectionNames names of the connections
+     * @param operation       operation executed on each connection
+     * @param merger          merges the results as they arrive, can be null
+     * @param deadline        deadline of the whole execution, can be null
+     * @return the outcome of the branches
+     */
+    public GatherResult<R> execute(List<String> connectionNames, BranchOperation<R> operation,
+                                   ResultMerger<R> merger, Deadline deadline) {
+
+        GatherResult<R> result = new GatherResult<>();
+        BlockingQueue<BranchOutcome<R>> completed = new LinkedBlockingQueue<>();
+        List<String> names = new ArrayList<>(new LinkedHashSet<>(connectionNames));
+        Queue<Integer> pending = new ArrayDeque<>();
+        for (int i = 0; i < names.size(); i++) {
+            pending.add(i);
+        }
+        Map<Integer, Branch> running = new LinkedHashMap<>();
+        try {
+            while (!pending.isEmpty() || !running.isEmpty()) {
+                if (deadline != null && deadline.isExpired()) {
+                    break;
+                }
+                while (!pending.isEmpty() && permits.tryAcquire()) {
+                    int index = pending.poll();
+                    Branch branch = new Branch(index, names.get(index), branchDeadline(deadline));
+                    if (launch(branch, operation, completed)) {
+                        running.put(index, branch);
+                    } else {
+                        result.addFailure(branch.connectionName, new RejectedExecutionException(format(
+                                "Branch of connection %s was rejected by the executor.", branch.connectionName)));
+                    }
+                }
+                if (running.isEmpty()) {
+                    // Other executions hold all the permits, hence wait for one to be released
+                    if (permits.tryAcquire(waitMillis(running, deadline), TimeUnit.MILLISECONDS)) {
+                        permits.release();
+                    }
+                    continue;
+                }
+                BranchOutcome<R> outcome = completed.poll(waitMillis(running, deadline), TimeUnit.MILLISECONDS);
+                Branch branch = outcome != null ? running.remove(outcome.index) : null;
+                if (branch != null) {
+                    if (outcome.error != null) {
+                        result.addFailure(branch.connectionName, outcome.error);
+                    } else {
+                        result.addResult(branch.connectionName, outcome.result);
+                        if (merger != null) {
+                            merger.merge(branch.connectionName, outcome.result);
+                        }
+                    }
+                }
+                expire(running, result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever did not complete by now is cancelled and reported as timed out, their late results are discarded
+        for (Branch branch : running.values()) {
+            branch.cancel();
+            result.addTimedOut(branch.connectionName);
+        }
+        for (int index : pending) {
+            result.addTimedOut(names.get(index));
+        }
+        return result;
+    }
+
+    private boolean launch(Branch branch, BranchOperation<R> operation, BlockingQueue<BranchOutcome<R>> completed) {
+
+        try {
+            executor.execute(() -> runBranch(branch, operation, completed));
+            return true;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return false;
+        }
+    }
+
+    private void runBranch(Branch branch, BranchOperation<R> operation, BlockingQueue<BranchOutcome<R>> completed) {
+
+        if (!branch.start()) {
+            // Cancelled while waiting for a thread of the executor
+            permits.release();
+            return;
+        }
+        ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+        Connection connection = null;
+        try {
+            connection = handler.getConnection(connector, branch.connectionName, branch.deadline);
+            completed.add(new BranchOutcome<>(branch.index, operation.execute(branch.connectionName, connection),
+                    null));
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug(format("Branch of connection %s of connector %s failed.", branch.connectionName,
+                        connector), e);
+            }
+            completed.add(new BranchOutcome<>(branch.index, null, e));
+        } finally {
+            boolean cancelled = branch.finish();
+            if (connection != null) {
+                if (cancelled) {
+                    // The state of an interrupted connection is unknown, hence it is not reused
+                    handler.invalidateConnection(connector, branch.connectionName, connection);
+                } else {
+                    handler.returnConnection(connector, branch.connectionName, connection);
+                }
+            }
+            permits.release();
+        }
+    }
+
+    private Deadline branchDeadline(Deadline deadline) {
+
+        if (branchTimeoutMillis <= 0) {
+            return deadline;
+        }
+        Deadline branchDeadline = Deadline.after(branchTimeoutMillis);
+        if (deadline != null && deadline.getExpiryTimeMillis() < branchDeadline.getExpiryTimeMillis()) {
+            return deadline;
+        }
+        return branchDeadline;
+    }
+
+    private static long waitMillis(Map<Integer, Branch> running, Deadline deadline) {
+
+        long wait = deadline != null ? deadline.remainingMillis() : Long.MAX_VALUE;
+        for (Branch branch : running.values()) {
+            if (branch.deadline != null) {
+                wait = Math.min(wait, branch.deadline.remainingMillis());
+            }
+        }
+        return Math.max(wait, 0);
+    }
+
+    private static <R> void expire(Map<Integer, Branch> running, GatherResult<R> result) {
+
+        Iterator<Branch> iterator = running.values().iterator();
+        while (iterator.hasNext()) {
+            Branch branch = iterator.next();
+            if (branch.deadline != null && branch.deadline.isExpired()) {
+                branch.cancel();
+                result.addTimedOut(branch.connectionName);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Branch of an execution, identified by the index of its connection. Cancelling the branch interrupts the
+     * thread running it, or prevents it from starting if it is still waiting for a thread.
+     */
+    private static class Branch {
+
+        private final int index;
+        private final String connectionName;
+        private final Deadline deadline;
+        private Thread thread;
+        private boolean cancelled;
+
+        private Branch(int index, String connectionName, Deadline deadline) {
+
+            this.index = index;
+            this.connectionName = connectionName;
+            this.deadline = deadline;
+        }
+
+        private synchronized boolean start() {
+
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * @return true if the branch was cancelled while running
+         */
+        private synchronized boolean finish() {
+
+            thread = null;
+            if (cancelled) {
+                // Clears the interrupt of the cancellation, so that it does not leak into the next task of the thread
+                Thread.interrupted();
+            }
+            return cancelled;
+        }
+
+        private synchronized void cancel() {
+
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    private static class BranchOutcome<R> {
+
+        private final int index;
+        private final R result;
+        private final Throwable error;
+
+        private BranchOutcome(int index, R result, Throwable error) {
+
+            this.index = index;
+            this.result = result;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.pool.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Limits the number of in-flight operations of a connection. The limit is not fixed, it is adjusted
+ * by the implementations from the measured operation latency so that the allowed concurrency shrinks
+ * when the backend slows down. Requests above the limit are rejected without waiting.
+ */
+public abstract class ConcurrencyLimiter {
+
+    private static final Log log = LogFactory.getLog(ConcurrencyLimiter.class);
+
+    public static final String GRADIENT = "GRADIENT";
+    public static final String VEGAS = "VEGAS";
+
+    // Ratio applied to the limit when an operation could not be completed
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    protected ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Creates the concurrency limiter defined in the configuration
+     *
+     * @param configuration Connection pool configuration
+     * @return the concurrency limiter
+     */
+    public static ConcurrencyLimiter create(Configuration configuration) {
+
+        int initialLimit = configuration.getInitialConcurrencyLimit();
+        int minLimit = configuration.getMinConcurrencyLimit();
+        int maxLimit = configuration.getMaxConcurrencyLimit();
+        String algorithm = configuration.getConcurrencyLimitAlgorithm();
+        if (VEGAS.equalsIgnoreCase(algorithm)) {
+            return new VegasConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        }
+        if (!GRADIENT.equalsIgnoreCase(algorithm)) {
+            log.warn(format("Unable to find the configured concurrency limit algorithm %s. Setting to default: %s.",
+                    algorithm, GRADIENT));
+        }
+        return new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Acquires a slot for an operation if the limit is not reached
+     *
+     * @return true if the slot is acquired, false if the operation should be rejected
+     */
+    public boolean tryAcquire() {
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a completed operation and adjusts the limit with the measured latency
+     *
+     * @param rttNanos time taken by the operation in nanoseconds
+     */
+    public void onSuccess(long rttNanos) {
+
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            limit = clamp(calculateLimit(limit, rttNanos, current));
+        }
+    }
+
+    /**
+     * Releases the slot of an operation that could not be completed and reduces the limit
+     */
+    public void onDropped() {
+
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = clamp(limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Releases the slot of an operation whose outcome is unknown, such as an operation on a connection of a closed
+     * pool, without adjusting the limit
+     */
+    public void onIgnored() {
+
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+
+        return inFlight.get();
+    }
+
+    /**
+     * Calculates the new limit from the latency of a completed operation
+     *
+     * @param currentLimit current limit
+     * @param rttNanos     time taken by the operation in nanoseconds
+     * @param inFlight     number of in-flight operations when the operation completed
+     * @return the new limit
+     */
+    protected abstract double calculateLimit(double currentLimit, long rttNanos, int inFlight);
+
+    private double clamp(double value) {
+
+        return Math.max(minLimit, Math.min(value, maxLimit));
+    }
+}
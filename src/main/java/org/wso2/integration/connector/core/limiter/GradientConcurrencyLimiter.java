@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+/**
+ * Concurrency limiter that compares the latest latency with a long term average latency.
+ * The limit is scaled down by the ratio of the two when the latency grows and a small queue allowance
+ * is added to keep probing for more capacity.
+ */
+public class GradientConcurrencyLimiter extends ConcurrencyLimiter {
+
+    // Long term average covers roughly the last 600 operations
+    private static final double LONG_RTT_FACTOR = 2d / 601;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private double longRtt = 0;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    protected double calculateLimit(double currentLimit, long rttNanos, int inFlight) {
+
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            return currentLimit;
+        }
+        longRtt = longRtt * (1 - LONG_RTT_FACTOR) + rttNanos * LONG_RTT_FACTOR;
+        // Let the long term average recover quickly after a latency spike
+        if (longRtt / rttNanos > 2) {
+            longRtt = longRtt * 0.95;
+        }
+        // The limit is not grown when the current load does not use it
+        if (inFlight < currentLimit / 2) {
+            return currentLimit;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRtt / rttNanos));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        return currentLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    }
+}
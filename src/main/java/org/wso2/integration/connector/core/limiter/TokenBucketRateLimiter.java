@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free token bucket rate limiter.
+ * The bucket is refilled at the given rate and holds at most the burst capacity of tokens. Instead of counting
+ * tokens, the limiter keeps the time at which the bucket becomes empty, so that a permit is taken with a single
+ * compare-and-set. A permit can be acquired without waiting or by waiting until a deadline.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Time, relative to the start of the limiter, until which the permits are already handed out
+    private final AtomicLong nextFreeNanos = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burstCapacity) {
+
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit must be greater than zero: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(burstCapacity, 1);
+    }
+
+    /**
+     * Acquires a permit if one is available at the moment
+     *
+     * @return true if the permit is acquired, false otherwise
+     */
+    public boolean tryAcquire() {
+
+        while (true) {
+            long now = now();
+            long next = nextFreeNanos.get();
+            long reserved = Math.max(next, now) + intervalNanos;
+            if (reserved - now > burstNanos) {
+                return false;
+            }
+            if (nextFreeNanos.compareAndSet(next, reserved)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Acquires a permit, waiting for it if required. The permit is not taken if it would not be available
+     * before the given timeout, in which case the method returns immediately.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true if the permit is acquired, false otherwise
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+
+        long maxWaitNanos = unit.toNanos(timeout);
+        long waitNanos;
+        while (true) {
+            long now = now();
+            long next = nextFreeNanos.get();
+            long reserved = Math.max(next, now) + intervalNanos;
+            waitNanos = reserved - now - burstNanos;
+            if (waitNanos > maxWaitNanos) {
+                return false;
+            }
+            if (nextFreeNanos.compareAndSet(next, reserved)) {
+                break;
+            }
+        }
+        long wakeUpTime = System.nanoTime() + waitNanos;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while waiting for a rate limit permit.");
+            }
+            waitNanos = wakeUpTime - System.nanoTime();
+        }
+        return true;
+    }
+
+    public double getPermitsPerSecond() {
+
+        return permitsPerSecond;
+    }
+
+    private long now() {
+
+        return System.nanoTime() - startNanos;
+    }
+}
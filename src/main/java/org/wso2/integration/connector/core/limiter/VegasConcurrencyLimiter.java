@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+/**
+ * Concurrency limiter based on TCP Vegas. The number of queued operations at the backend is estimated
+ * from the minimum observed latency and the limit is increased while the queue is small and decreased
+ * once it grows.
+ */
+public class VegasConcurrencyLimiter extends ConcurrencyLimiter {
+
+    // Minimum latency is re-probed periodically as the backend characteristics may change
+    private static final int PROBE_INTERVAL = 1000;
+
+    private long noLoadRtt = 0;
+    private int samples = 0;
+
+    public VegasConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    protected double calculateLimit(double currentLimit, long rttNanos, int inFlight) {
+
+        if (++samples >= PROBE_INTERVAL) {
+            samples = 0;
+            noLoadRtt = 0;
+        }
+        if (noLoadRtt == 0 || rttNanos < noLoadRtt) {
+            noLoadRtt = rttNanos;
+            return currentLimit;
+        }
+        // The limit is not grown when the current load does not use it
+        if (inFlight * 2 < currentLimit) {
+            return currentLimit;
+        }
+        double queueSize = Math.ceil(currentLimit * (1 - (double) noLoadRtt / rttNanos));
+        double log10Limit = Math.log10(Math.max(currentLimit, 1));
+        double alpha = Math.max(3, 3 * log10Limit);
+        double beta = Math.max(6, 6 * log10Limit);
+        if (queueSize <= alpha) {
+            return currentLimit + Math.max(1, log10Limit);
+        } else if (queueSize >= beta) {
+            return currentLimit - Math.max(1, log10Limit);
+        }
+        return currentLimit;
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.pagination;
+
+import org.apache.synapse.SynapseException;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.connection.Connection;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the pages of a paginated result set ahead of the consumer. While the consumer processes a page, the
+ * following pages are fetched in the background on pooled connections, hence the fetch latency overlaps with
+ * the processing instead of adding up page by page. Fetching pauses once the configured number of pages is
+ * buffered, which bounds the memory used for the result set, and resumes as the consumer takes pages.
+ *
+ * @param <C> type of the page cursor
+ * @param <P> type of the page
+ */
+public class PagePrefetcher<C, P> implements Iterable<P>, Closeable {
+
+    private final String connector;
+    private final String connectionName;
+    private final PageFetcher<C, P> pageFetcher;
+    private final CursorExtractor<C, P> cursorExtractor;
+    private final int prefetchPages;
+    private final Executor executor;
+    private final Deadline deadline;
+
+    private final Object lock = new Object();
+    private final Queue<P> buffer = new ArrayDeque<>();
+    private C nextCursor;
+    private boolean fetching;
+    private boolean exhausted;
+    private boolean closed;
+    private Exception failure;
+    private Thread fetchThread;
+
+    /**
+     * Fetches a single page
+     *
+     * @param <C> type of the page cursor
+     * @param <P> type of the page
+     */
+    public interface PageFetcher<C, P> {
+
+        /**
+         * Fetches the page of the cursor
+         *
+         * @param connection pooled connection borrowed for the fetch
+         * @param cursor     cursor of the page, the initial cursor for the first page
+         * @return the page, or null if there are no more pages
+         * @throws ConnectException if the page could not be fetched
+         */
+        P fetch(Connection connection, C cursor) throws ConnectException;
+    }
+
+    /**
+     * Extracts the cursor of the next page from a page
+     *
+     * @param <C> type of the page cursor
+     * @param <P> type of the page
+     */
+    public interface CursorExtractor<C, P> {
+
+        /**
+         * Returns the cursor of the page following the given page
+         *
+         * @param page the fetched page
+         * @return the cursor of the next page, or null if the page is the last one
+         */
+        C getNextCursor(P page);
+    }
+
+    public PagePrefetcher(String connector, String connectionName, C initialCursor, PageFetcher<C, P> pageFetcher,
+                          CursorExtractor<C, P> cursorExtractor, int prefetchPages, Executor executor) {
+
+        this(connector, connectionName, initialCursor, pageFetcher, cursorExtractor, prefetchPages, executor, null);
+    }
+
+    /**
+     * Creates the prefetcher. No page is fetched until the first page is requested.
+     *
+     * @param connector       name of the connector
+     * @param connectionName  name of the connection used to fetch the pages
+     * @param initialCursor   cursor of the first page, can be null
+     * @param pageFetcher     fetches a page
+     * @param cursorExtractor extracts the cursor of the next page
+     * @param prefetchPages   maximum number of pages fetched ahead of the consumer
+     * @param executor        executor running the fetches
+     * @param deadline        deadline of the consumer, can be null
+     */
+    public PagePrefetcher(String connector, String connectionName, C initialCursor, PageFetcher<C, P> pageFetcher,
+                          CursorExtractor<C, P> cursorExtractor, int prefetchPages, Executor executor,
+                          Deadline deadline) {
+
+        this.connector = connector;
+        this.connectionName = connectionName;
+        this.nextCursor = initialCursor;
+        this.pageFetcher = pageFetcher;
+        this.cursorExtractor = cursorExtractor;
+        this.prefetchPages = Math.max(prefetchPages, 1);
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the next page, waiting for it if it is not fetched yet
+     *
+     * @return the next page, null once all the pages are consumed
+     * @throws ConnectException if fetching the page failed or the deadline is exceeded while waiting
+     */
+    public P nextPage() throws ConnectException {
+
+        synchronized (lock) {
+            scheduleFetch();
+            while (buffer.isEmpty() && failure == null && !closed && (fetching || !exhausted)) {
+                waitForPage();
+            }
+            P page = buffer.poll();
+            if (page != null) {
+                // A slot is free in the buffer, hence continue fetching ahead
+                scheduleFetch();
+                return page;
+            }
+            if (failure != null) {
+                throw failure instanceof ConnectException ? (ConnectException) failure
+                        : new ConnectException(failure, "Error occurred while fetching the next page.");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the remaining pages. Failures are thrown as SynapseException.
+     *
+     * @return iterator of the pages
+     */
+    @Override
+    public Iterator<P> iterator() {
+
+        return new Iterator<P>() {
+
+            private P next;
+
+            @Override
+            public boolean hasNext() {
+
+                if (next == null) {
+                    try {
+                        next = nextPage();
+                    } catch (ConnectException e) {
+                        throw new SynapseException("Error occurred while fetching the next page.", e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public P next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                P page = next;
+                next = null;
+                return page;
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential stream over the remaining pages
+     *
+     * @return stream of the pages
+     */
+    public Stream<P> stream() {
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * Stops fetching and discards the buffered pages. A fetch in flight is interrupted and its connection is not
+     * returned to the pool.
+     */
+    @Override
+    public void close() {
+
+        synchronized (lock) {
+            closed = true;
+            buffer.clear();
+            if (fetchThread != null) {
+                fetchThread.interrupt();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void waitForPage() throws ConnectException {
+
+        try {
+            if (deadline == null) {
+                lock.wait();
+                return;
+            }
+            long remaining = deadline.remainingMillis();
+            if (remaining <= 0) {
+                throw new DeadlineExceededException("Deadline exceeded while waiting for the next page.");
+            }
+            lock.wait(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted while waiting for the next page.");
+        }
+    }
+
+    /**
+     * Starts fetching the next page if it is known and there is space in the buffer. Must hold the lock.
+     */
+    private void scheduleFetch() {
+
+        if (fetching || exhausted || closed || failure != null || buffer.size() >= prefetchPages) {
+            return;
+        }
+        fetching = true;
+        C cursor = nextCursor;
+        try {
+            executor.execute(() -> fetch(cursor));
+        } catch (RejectedExecutionException e) {
+            fetching = false;
+            failure = e;
+        }
+    }
+
+    private void fetch(C cursor) {
+
+        synchronized (lock) {
+            if (closed) {
+                fetching = false;
+                return;
+            }
+            fetchThread = Thread.currentThread();
+        }
+        P page = null;
+        C next = null;
+        Exception error = null;
+        try {
+            ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+            Connection connection = handler.getConnection(connector, connectionName, deadline);
+            try {
+                page = pageFetcher.fetch(connection, cursor);
+            } finally {
+                if (isClosed()) {
+                    // The fetch may have been interrupted midway, hence the connection is not reused
+                    handler.invalidateConnection(connector, connectionName, connection);
+                } else {
+                    handler.returnConnection(connector, connectionName, connection);
+                }
+            }
+            next = page != null ? cursorExtractor.getNextCursor(page) : null;
+        } catch (Exception e) {
+            error = e;
+        }
+        boolean cancelled;
+        synchronized (lock) {
+            fetchThread = null;
+            fetching = false;
+            cancelled = closed;
+            if (!closed) {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    if (page != null) {
+                        buffer.add(page);
+                    }
+                    nextCursor = next;
+                    exhausted = next == null;
+                    scheduleFetch();
+                }
+            }
+            lock.notifyAll();
+        }
+        if (cancelled) {
+            // Clears the interrupt of the cancellation, as the thread is reused by the executor
+            Thread.interrupted();
+        }
+    }
+
+    private boolean isClosed() {
+
+        synchronized (lock) {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.pool;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Resizes the idle capacity of a connection pool based on the observed demand.
+ * The peak number of concurrently borrowed connections is tracked over a rolling set of windows and,
+ * at the end of each window, min idle and max idle are recalculated within the configured bounds.
+ * Capacity is grown ahead of demand by pre-creating connections, taking the connection creation latency
+ * into account, and shrunk by evicting the connections that stayed idle for a whole window.
+ */
+class AdaptiveIdleSizer {
+
+    private static final Log log = LogFactory.getLog(AdaptiveIdleSizer.class);
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "connector-pool-idle-sizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConnectionPool pool;
+    private final CreationTimedConnectionFactory factory;
+    private final int minIdleFloor;
+    private final int maxIdleCeiling;
+    private final long windowMillis;
+    private final int headroomPercent;
+
+    // Peak concurrent borrow count of the completed windows, used as a ring buffer
+    private final int[] windowPeaks;
+    private int lastWindow;
+    private final AtomicInteger currentWindowPeak = new AtomicInteger();
+    private ScheduledFuture<?> task;
+
+    AdaptiveIdleSizer(ConnectionPool pool, CreationTimedConnectionFactory factory, Configuration configuration) {
+
+        this.pool = pool;
+        this.factory = factory;
+        this.minIdleFloor = Math.max(pool.getMinIdle(), 0);
+        int maxIdle = pool.getMaxIdle();
+        if (maxIdle < 0) {
+            // Negative max idle means no limit, hence bound by the max active connections
+            maxIdle = pool.getMaxActive() > 0 ? pool.getMaxActive() : Integer.MAX_VALUE;
+        }
+        this.maxIdleCeiling = Math.max(maxIdle, minIdleFloor);
+        this.windowMillis = configuration.getAdaptiveSizingWindowMillis();
+        this.headroomPercent = Math.max(configuration.getAdaptiveIdleHeadroomPercent(), 0);
+        this.windowPeaks = new int[Math.max(configuration.getAdaptiveSizingWindowCount(), 1)];
+        // Idle connections that were not used for a whole window are considered cold and can be evicted
+        if (configuration.getSoftMinEvictableIdleTimeMillis() == null) {
+            pool.setSoftMinEvictableIdleTimeMillis(windowMillis);
+        }
+    }
+
+    void start() {
+
+        task = SCHEDULER.scheduleWithFixedDelay(this::resize, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Records the number of connections borrowed at the moment
+     *
+     * @param active number of active connections
+     */
+    void recordActive(int active) {
+
+        currentWindowPeak.accumulateAndGet(active, Math::max);
+    }
+
+    /**
+     * Recalculates the idle capacity of the pool at the end of a sizing window.
+     */
+    void resize() {
+
+        try {
+            int active = pool.getNumActive();
+            int latestPeak = Math.max(currentWindowPeak.getAndSet(active), active);
+            int previousPeak = windowPeaks[lastWindow];
+            lastWindow = (lastWindow + 1) % windowPeaks.length;
+            windowPeaks[lastWindow] = latestPeak;
+
+            int rollingPeak = 0;
+            for (int peak : windowPeaks) {
+                rollingPeak = Math.max(rollingPeak, peak);
+            }
+            // Demand expected to arrive before the next resize and while new connections are being created
+            double growthPerMilli = Math.max(latestPeak - previousPeak, 0) / (double) windowMillis;
+            long rampAllowance = (long) Math.ceil(growthPerMilli * (windowMillis + factory.getAverageCreationMillis()));
+            long expectedDemand = (long) Math.ceil((rollingPeak + rampAllowance) * (100 + headroomPercent) / 100d);
+
+            int maxIdle = clamp(expectedDemand, minIdleFloor, maxIdleCeiling);
+            int minIdle = clamp(expectedDemand - active, minIdleFloor, maxIdle);
+            pool.setMaxIdle(maxIdle);
+            pool.setMinIdle(minIdle);
+            if (log.isDebugEnabled()) {
+                log.debug(format("Resized idle connections. Rolling peak: %d, active: %d, min idle: %d, max idle: %d.",
+                        rollingPeak, active, minIdle, maxIdle));
+            }
+            preCreateConnections(minIdle);
+            // Evicts idle connections above min idle starting from the coldest
+            pool.evict();
+        } catch (Exception e) {
+            log.warn("Error occurred while resizing the idle connections of the pool.", e);
+        }
+    }
+
+    private void preCreateConnections(int minIdle) throws Exception {
+
+        int maxActive = pool.getMaxActive();
+        for (int i = 0; i < minIdle && pool.getNumIdle() < minIdle; i++) {
+            if (maxActive > 0 && pool.getNumActive() + pool.getNumIdle() >= maxActive) {
+                break;
+            }
+            pool.addObject();
+        }
+    }
+
+    private static int clamp(long value, int min, int max) {
+
+        return (int) Math.max(min, Math.min(value, max));
+    }
+}
@@ -45,6 +45,34 @@ public class Configuration {
     private int openDurationProgressFactor = 1;
     private long maxOpenDurationMillis = Long.MAX_VALUE;
 
+    // Adaptive idle sizing related configurations
+    private boolean isAdaptiveIdleSizingEnabled = false;
+    private long adaptiveSizingWindowMillis = 10000;
+    private int adaptiveSizingWindowCount = 6;
+    private int adaptiveIdleHeadroomPercent = 20;
+
+    // Adaptive concurrency limit related configurations
+    private boolean isConcurrencyLimitEnabled = false;
+    private String concurrencyLimitAlgorithm = "GRADIENT";
+    private int initialConcurrencyLimit = 20;
+    private int minConcurrencyLimit = 1;
+    private int maxConcurrencyLimit = 200;
+
+    // Rate limit related configurations
+    private boolean isRateLimitEnabled = false;
+    private double rateLimitPermitsPerSecond = 10;
+    private int rateLimitBurstCapacity = 1;
+    private long rateLimitMaxWaitMillis = 0;
+
+    // Retry related configurations
+    private boolean isRetryEnabled = false;
+    private long retryInitialBackoffMillis = 100;
+    private long retryMaxBackoffMillis = 5000;
+    private String retryableExceptions;
+    private int retryBudgetPercent = 20;
+    private int retryBudgetMinRetries = 10;
+    private long retryBudgetWindowMillis = 10000;
+
     public Integer getMaxActiveConnections() {
 
         return maxActiveConnections;
@@ -186,6 +214,9 @@ public class Configuration {
         return retryCount;
     }
 
+    /**
+     * Sets the maximum number of retries of a failed attempt. Used only if retries are enabled.
+     */
     public void setRetryCount(int retryCount) {
         this.retryCount = retryCount;
     }
@@ -239,4 +270,210 @@ public class Configuration {
 
         this.maxOpenDurationMillis = maxOpenDurationMillis;
     }
+
+    public boolean isAdaptiveIdleSizingEnabled() {
+
+        return isAdaptiveIdleSizingEnabled;
+    }
+
+    public void setAdaptiveIdleSizingEnabled(boolean adaptiveIdleSizingEnabled) {
+
+        isAdaptiveIdleSizingEnabled = adaptiveIdleSizingEnabled;
+    }
+
+    public long getAdaptiveSizingWindowMillis() {
+
+        return adaptiveSizingWindowMillis;
+    }
+
+    public void setAdaptiveSizingWindowMillis(long adaptiveSizingWindowMillis) {
+
+        this.adaptiveSizingWindowMillis = adaptiveSizingWindowMillis;
+    }
+
+    public int getAdaptiveSizingWindowCount() {
+
+        return adaptiveSizingWindowCount;
+    }
+
+    public void setAdaptiveSizingWindowCount(int adaptiveSizingWindowCount) {
+
+        this.adaptiveSizingWindowCount = adaptiveSizingWindowCount;
+    }
+
+    public int getAdaptiveIdleHeadroomPercent() {
+
+        return adaptiveIdleHeadroomPercent;
+    }
+
+    public void setAdaptiveIdleHeadroomPercent(int adaptiveIdleHeadroomPercent) {
+
+        this.adaptiveIdleHeadroomPercent = adaptiveIdleHeadroomPercent;
+    }
+
+    public boolean isConcurrencyLimitEnabled() {
+
+        return isConcurrencyLimitEnabled;
+    }
+
+    public void setConcurrencyLimitEnabled(boolean concurrencyLimitEnabled) {
+
+        isConcurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    public String getConcurrencyLimitAlgorithm() {
+
+        return concurrencyLimitAlgorithm;
+    }
+
+    public void setConcurrencyLimitAlgorithm(String concurrencyLimitAlgorithm) {
+
+        this.concurrencyLimitAlgorithm = concurrencyLimitAlgorithm;
+    }
+
+    public int getInitialConcurrencyLimit() {
+
+        return initialConcurrencyLimit;
+    }
+
+    public void setInitialConcurrencyLimit(int initialConcurrencyLimit) {
+
+        this.initialConcurrencyLimit = initialConcurrencyLimit;
+    }
+
+    public int getMinConcurrencyLimit() {
+
+        return minConcurrencyLimit;
+    }
+
+    public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+
+        this.minConcurrencyLimit = minConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+
+        return maxConcurrencyLimit;
+    }
+
+    public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+
+        this.maxConcurrencyLimit = maxConcurrencyLimit;
+    }
+
+    public boolean isRateLimitEnabled() {
+
+        return isRateLimitEnabled;
+    }
+
+    public void setRateLimitEnabled(boolean rateLimitEnabled) {
+
+        isRateLimitEnabled = rateLimitEnabled;
+    }
+
+    public double getRateLimitPermitsPerSecond() {
+
+        return rateLimitPermitsPerSecond;
+    }
+
+    public void setRateLimitPermitsPerSecond(double rateLimitPermitsPerSecond) {
+
+        this.rateLimitPermitsPerSecond = rateLimitPermitsPerSecond;
+    }
+
+    public int getRateLimitBurstCapacity() {
+
+        return rateLimitBurstCapacity;
+    }
+
+    public void setRateLimitBurstCapacity(int rateLimitBurstCapacity) {
+
+        this.rateLimitBurstCapacity = rateLimitBurstCapacity;
+    }
+
+    public long getRateLimitMaxWaitMillis() {
+
+        return rateLimitMaxWaitMillis;
+    }
+
+    /**
+     * Sets the maximum time to wait for a rate limit permit. Requests are rejected without waiting if it is 0.
+     */
+    public void setRateLimitMaxWaitMillis(long rateLimitMaxWaitMillis) {
+
+        this.rateLimitMaxWaitMillis = rateLimitMaxWaitMillis;
+    }
+
+    public boolean isRetryEnabled() {
+
+        return isRetryEnabled;
+    }
+
+    public void setRetryEnabled(boolean retryEnabled) {
+
+        isRetryEnabled = retryEnabled;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+
+        return retryInitialBackoffMillis;
+    }
+
+    public void setRetryInitialBackoffMillis(long retryInitialBackoffMillis) {
+
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    public long getRetryMaxBackoffMillis() {
+
+        return retryMaxBackoffMillis;
+    }
+
+    public void setRetryMaxBackoffMillis(long retryMaxBackoffMillis) {
+
+        this.retryMaxBackoffMillis = retryMaxBackoffMillis;
+    }
+
+    public String getRetryableExceptions() {
+
+        return retryableExceptions;
+    }
+
+    /**
+     * Sets additional exceptions to be retried as a comma separated list of fully qualified class names.
+     */
+    public void setRetryableExceptions(String retryableExceptions) {
+
+        this.retryableExceptions = retryableExceptions;
+    }
+
+    public int getRetryBudgetPercent() {
+
+        return retryBudgetPercent;
+    }
+
+    public void setRetryBudgetPercent(int retryBudgetPercent) {
+
+        this.retryBudgetPercent = retryBudgetPercent;
+    }
+
+    public int getRetryBudgetMinRetries() {
+
+        return retryBudgetMinRetries;
+    }
+
+    public void setRetryBudgetMinRetries(int retryBudgetMinRetries) {
+
+        this.retryBudgetMinRetries = retryBudgetMinRetries;
+    }
+
+    public long getRetryBudgetWindowMillis() {
+
+        return retryBudgetWindowMillis;
+    }
+
+    public void setRetryBudgetWindowMillis(long retryBudgetWindowMillis) {
+
+        this.retryBudgetWindowMillis = retryBudgetWindowMillis;
+    }
 }
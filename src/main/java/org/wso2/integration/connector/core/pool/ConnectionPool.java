@@ -37,10 +37,18 @@ public class ConnectionPool extends GenericObjectPool {
     private Instant strat;
 
     private boolean isAgedTimeoutEnabled = false;
+    private AdaptiveIdleSizer idleSizer;
 
     public ConnectionPool(ConnectionFactory factory, Configuration configuration) {
 
-        super(factory);
+        this(factory, configuration, isAdaptiveIdleSizing(configuration) ? new CreationTimedConnectionFactory(factory)
+                : null);
+    }
+
+    private ConnectionPool(ConnectionFactory factory, Configuration configuration,
+                           CreationTimedConnectionFactory timedFactory) {
+
+        super(timedFactory != null ? timedFactory : factory);
 
         if (configuration.getMaxActiveConnections() != null) {
             this.setMaxActive(configuration.getMaxActiveConnections());
@@ -85,6 +93,30 @@ public class ConnectionPool extends GenericObjectPool {
             this.setStrat(Instant.now());
             this.setPoolConnectionAgedTimeout(configuration.getPoolConnectionAgedTimeout());
         }
+        if (timedFactory != null) {
+            idleSizer = new AdaptiveIdleSizer(this, timedFactory, configuration);
+            idleSizer.start();
+        }
+    }
+
+    /**
+     * Checks whether the idle connections of the pool are to be sized adaptively. An invalid sizing window
+     * falls back to the configured idle limits.
+     *
+     * @param configuration the pool configuration
+     * @return true if adaptive idle sizing is enabled with a valid window
+     */
+    private static boolean isAdaptiveIdleSizing(Configuration configuration) {
+
+        if (!configuration.isAdaptiveIdleSizingEnabled()) {
+            return false;
+        }
+        if (configuration.getAdaptiveSizingWindowMillis() <= 0) {
+            log.warn(format("Invalid adaptive sizing window: %d ms. Adaptive idle sizing is disabled.",
+                    configuration.getAdaptiveSizingWindowMillis()));
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -140,7 +172,11 @@ public class ConnectionPool extends GenericObjectPool {
 
         try {
             log.debug("Borrowing object from the connection pool...");
-            return super.borrowObject();
+            Object obj = super.borrowObject();
+            if (idleSizer != null) {
+                idleSizer.recordActive(getNumActive());
+            }
+            return obj;
         } catch (Exception e) {
             throw new ConnectException(e, "Error occurred while borrowing connection from the pool.");
         }
@@ -160,6 +196,9 @@ public class ConnectionPool extends GenericObjectPool {
     @Override
     public void close() throws ConnectException {
 
+        if (idleSizer != null) {
+            idleSizer.stop();
+        }
         try {
             super.close();
         } catch (Exception e) {
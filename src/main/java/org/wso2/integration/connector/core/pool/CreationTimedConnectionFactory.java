@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.pool;
+
+/**
+ * Wraps a connection factory and keeps a moving average of the time taken to create a connection.
+ */
+class CreationTimedConnectionFactory implements ConnectionFactory {
+
+    // Weight given to the latest sample when updating the moving average
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final ConnectionFactory delegate;
+    private volatile double averageCreationMillis = 0;
+
+    CreationTimedConnectionFactory(ConnectionFactory delegate) {
+
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object makeObject() throws Exception {
+
+        long start = System.nanoTime();
+        Object obj = delegate.makeObject();
+        recordCreationTime((System.nanoTime() - start) / 1_000_000d);
+        return obj;
+    }
+
+    @Override
+    public void destroyObject(Object obj) throws Exception {
+
+        delegate.destroyObject(obj);
+    }
+
+    @Override
+    public boolean validateObject(Object obj) {
+
+        return delegate.validateObject(obj);
+    }
+
+    @Override
+    public void activateObject(Object obj) throws Exception {
+
+        delegate.activateObject(obj);
+    }
+
+    @Override
+    public void passivateObject(Object obj) throws Exception {
+
+        delegate.passivateObject(obj);
+    }
+
+    /**
+     * Returns the moving average of connection creation time
+     *
+     * @return average creation time in milliseconds, 0 if no connection was created yet
+     */
+    double getAverageCreationMillis() {
+
+        return averageCreationMillis;
+    }
+
+    private synchronized void recordCreationTime(double millis) {
+
+        if (averageCreationMillis == 0) {
+            averageCreationMillis = millis;
+        } else {
+            averageCreationMillis = SMOOTHING_FACTOR * millis + (1 - SMOOTHING_FACTOR) * averageCreationMillis;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.retry;
+
+/**
+ * Caps the retries as a percentage of the requests seen within a sliding time window.
+ * A minimum number of retries is always allowed within the window so that low traffic
+ * connections can still recover from transient failures.
+ */
+public class RetryBudget {
+
+    private static final int BUCKET_COUNT = 10;
+
+    private final long bucketMillis;
+    private final double retryRatio;
+    private final int minRetries;
+    private final long[] requests = new long[BUCKET_COUNT];
+    private final long[] retries = new long[BUCKET_COUNT];
+    private int currentBucket;
+    private long currentBucketStart;
+
+    public RetryBudget(int retryPercent, int minRetries, long windowMillis) {
+
+        this.retryRatio = Math.max(retryPercent, 0) / 100d;
+        this.minRetries = Math.max(minRetries, 0);
+        this.bucketMillis = Math.max(windowMillis / BUCKET_COUNT, 1);
+        this.currentBucketStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Records a request which adds to the budget
+     */
+    public synchronized void recordRequest() {
+
+        advance();
+        requests[currentBucket]++;
+    }
+
+    /**
+     * Withdraws a retry from the budget
+     *
+     * @return true if the retry is allowed, false if the budget is exhausted
+     */
+    public synchronized boolean tryRetry() {
+
+        advance();
+        long requestCount = 0;
+        long retryCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            requestCount += requests[i];
+            retryCount += retries[i];
+        }
+        if (retryCount < minRetries + retryRatio * requestCount) {
+            retries[currentBucket]++;
+            return true;
+        }
+        return false;
+    }
+
+    private void advance() {
+
+        long elapsedBuckets = (System.currentTimeMillis() - currentBucketStart) / bucketMillis;
+        if (elapsedBuckets <= 0) {
+            return;
+        }
+        for (int i = 0; i < Math.min(elapsedBuckets, BUCKET_COUNT); i++) {
+            currentBucket = (currentBucket + 1) % BUCKET_COUNT;
+            requests[currentBucket] = 0;
+            retries[currentBucket] = 0;
+        }
+        currentBucketStart += elapsedBuckets * bucketMillis;
+    }
+}
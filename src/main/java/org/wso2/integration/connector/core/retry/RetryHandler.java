@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.retry;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.pool.Configuration;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+import static java.lang.String.format;
+
+/**
+ * Retries failed attempts with exponential backoff and full jitter.
+ * Only the failures caused by an I/O error, a timeout or one of the configured exceptions are retried.
+ * Failures caused by rejections of the pool, such as an open circuit breaker or a reached limit, are not.
+ * Retries are also bounded by a {@link RetryBudget} so that they do not multiply the load on a backend
+ * that is already failing.
+ */
+public class RetryHandler {
+
+    private static final Log log = LogFactory.getLog(RetryHandler.class);
+
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<String> retryableExceptions;
+    private final RetryBudget retryBudget;
+
+    /**
+     * Represents an attempt that can be retried
+     *
+     * @param <T> type of the result
+     */
+    public interface RetryableOperation<T> {
+
+        T execute() throws ConnectException;
+    }
+
+    public RetryHandler(Configuration configuration) {
+
+        this.maxRetries = Math.max(configuration.getRetryCount(), 0);
+        this.initialBackoffMillis = Math.max(configuration.getRetryInitialBackoffMillis(), 1);
+        this.maxBackoffMillis = Math.max(configuration.getRetryMaxBackoffMillis(), initialBackoffMillis);
+        this.retryableExceptions = parseExceptions(configuration.getRetryableExceptions());
+        this.retryBudget = new RetryBudget(configuration.getRetryBudgetPercent(),
+                configuration.getRetryBudgetMinRetries(), configuration.getRetryBudgetWindowMillis());
+    }
+
+    /**
+     * Executes the operation and retries it on retryable failures
+     *
+     * @param operation operation to be executed
+     * @param <T>       type of the result
+     * @return the result of the operation
+     * @throws ConnectException the failure of the last attempt
+     */
+    public <T> T execute(RetryableOperation<T> operation) throws ConnectException {
+
+        return execute(operation, null);
+    }
+
+    /**
+     * Executes the operation and retries it on retryable failures until the deadline.
+     * A retry is not attempted if its backoff would end after the deadline.
+     *
+     * @param operation operation to be executed
+     * @param deadline  deadline of the message, can be null
+     * @param <T>       type of the result
+     * @return the result of the operation
+     * @throws ConnectException the failure of the last attempt
+     */
+    public <T> T execute(RetryableOperation<T> operation, Deadline deadline) throws ConnectException {
+
+        retryBudget.recordRequest();
+        int attempt = 0;
+        while (true) {
+            try {
+                return operation.execute();
+            } catch (ConnectException e) {
+                if (attempt >= maxRetries || !isRetryable(e)) {
+                    throw e;
+                }
+                long backoff = getBackoffMillis(attempt++);
+                if (deadline != null && backoff >= deadline.remainingMillis()) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Not retrying the failed attempt as the deadline would be exceeded.");
+                    }
+                    throw e;
+                }
+                if (!retryBudget.tryRetry()) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Retry budget exhausted. Not retrying the failed attempt.");
+                    }
+                    throw e;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug(format("Attempt failed. Retrying attempt %d of %d in %d ms.", attempt, maxRetries,
+                            backoff));
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the failure is worth retrying
+     *
+     * @param e failure of the attempt
+     * @return true if the failure is retryable
+     */
+    public boolean isRetryable(Throwable e) {
+
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+            for (Class<?> type = cause.getClass(); type != null; type = type.getSuperclass()) {
+                if (retryableExceptions.contains(type.getName())) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private long getBackoffMillis(int attempt) {
+
+        long backoff = initialBackoffMillis << Math.min(attempt, 30);
+        if (backoff <= 0 || backoff > maxBackoffMillis) {
+            backoff = maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    private static Set<String> parseExceptions(String exceptions) {
+
+        if (StringUtils.isEmpty(exceptions)) {
+            return Collections.emptySet();
+        }
+        Set<String> exceptionSet = new HashSet<>();
+        for (String exception : exceptions.split(",")) {
+            if (StringUtils.isNotEmpty(exception.trim())) {
+                exceptionSet.add(exception.trim());
+            }
+        }
+        return exceptionSet;
+    }
+}
@@ -19,23 +19,33 @@
 package org.wso2.integration.connector.core.util;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.mediators.template.TemplateContext;
 import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.authentication.InstanceUrlToken;
+import org.wso2.integration.connector.core.authentication.Token;
+import org.wso2.integration.connector.core.authentication.TokenEndpointBackoff;
+import org.wso2.integration.connector.core.authentication.TokenEndpointClient;
+import org.wso2.integration.connector.core.authentication.TokenRequest;
+import org.wso2.integration.connector.core.authentication.TokenResponse;
+import org.wso2.integration.connector.core.authentication.TokenResponseParser;
 import org.wso2.integration.connector.core.pool.Configuration;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Stack;
-import java.util.regex.Pattern;
 
 public class ConnectorUtils {
 
@@ -109,40 +119,81 @@ public class ConnectorUtils {
             ConnectException {
 
         String PROPERTY_PREFIX = "uri.var.";
-        byte[] byteData = postData.getBytes(charset);
         String tokenEndpoint = messageContext.getProperty(PROPERTY_PREFIX + "tokenEndpointUrl").toString();
-        URL tokenEndpointUrl = new URL(tokenEndpoint);
-        HttpURLConnection connection = (HttpURLConnection) tokenEndpointUrl.openConnection();
+        StringEntity requestEntity = new StringEntity(postData,
+                ContentType.create("application/x-www-form-urlencoded", charset));
+        String backoffKey = tokenEndpoint + "_" + Objects.hash(postData);
+        TokenEndpointBackoff.checkBackoff(backoffKey);
+        Deadline deadline = Deadline.from(messageContext);
         try {
-            connection.setDoOutput(true);
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            try (DataOutputStream wr = new DataOutputStream(connection.getOutputStream())) {
-                wr.write(byteData);
-            }
-            if (Pattern.matches("4[0-9][0-9]", String.valueOf(connection.getResponseCode()))) {
-                throw new ConnectException("Access token generation call returned HTTP Status code " +
-                        connection.getResponseCode() + ". " +
-                        connection.getResponseMessage());
-            }
-            if (connection.getResponseMessage() == null) {
-                throw new ConnectException("Empty response received for access token generation call");
+            String response = TokenEndpointClient.getInstance().post(tokenEndpoint, requestEntity,
+                    deadline, (statusCode, responseEntity) -> {
+                        if (statusCode >= 400 && statusCode < 500) {
+                            throw new ConnectException("Access token generation call returned HTTP Status code " +
+                                    statusCode + ".");
+                        }
+                        if (statusCode >= 500) {
+                            throw new IOException("Server returned HTTP response code: " + statusCode +
+                                    " for URL: " + tokenEndpoint);
+                        }
+                        if (responseEntity == null) {
+                            throw new ConnectException("Empty response received for access token generation call");
+                        }
+                        return TokenResponseParser.toString(responseEntity, charset);
+                    });
+            TokenEndpointBackoff.recordSuccess(backoffKey);
+            return response;
+        } catch (IOException | ConnectException e) {
+            TokenEndpointBackoff.recordFailure(backoffKey, e, deadline);
+            throw e;
+        }
+    }
+
+    /**
+     * Get the token request of the payload posted by a token mediator. The request is named by the registry path the
+     * token is persisted to, hence the token is kept in the TokenManager under a key of that path, the token
+     * endpoint and the parameters of the payload.
+     *
+     * @param messageContext          Message Context
+     * @param accessTokenRegistryPath Registry path the token is persisted to
+     * @param postData                Payload of the token request
+     * @return the token request
+     */
+    public static TokenRequest getTokenRequest(MessageContext messageContext, String accessTokenRegistryPath,
+                                               String postData) {
+
+        String grantType = null;
+        Map<String, String> parameters = new HashMap<>();
+        for (NameValuePair parameter : URLEncodedUtils.parse(postData, StandardCharsets.UTF_8)) {
+            if (Constants.OAuth2.GRANT_TYPE.equals(parameter.getName())) {
+                grantType = parameter.getValue();
             } else {
-                try (BufferedReader br = new BufferedReader(
-                        new InputStreamReader(connection.getInputStream()))) {
-                    StringBuilder content;
-                    String line;
-                    content = new StringBuilder();
-                    while ((line = br.readLine()) != null) {
-                        content.append(line);
-                        content.append(System.lineSeparator());
-                    }
-                    return content.toString();
-                }
+                parameters.put(parameter.getName(), parameter.getValue());
             }
-        } finally {
-            connection.disconnect();
         }
+        Object tokenEndpoint = messageContext.getProperty("uri.var.tokenEndpointUrl");
+        return new TokenRequest(accessTokenRegistryPath, grantType,
+                tokenEndpoint != null ? tokenEndpoint.toString() : null, parameters);
+    }
+
+    /**
+     * Creates the token of an access token obtained by a token mediator. The instance URL of the token endpoint
+     * response, if any, is kept along with the token. A token whose lifetime is not stated by the response is
+     * created expired, hence it is not reused.
+     *
+     * @param accessToken   The access token
+     * @param tokenResponse The token endpoint response
+     * @return the token
+     */
+    public static Token toToken(String accessToken, TokenResponse tokenResponse) {
+
+        Long expiresIn = tokenResponse.getExpiresIn();
+        long expireInMillis = expiresIn != null && expiresIn > 0 ? expiresIn * 1000 : 0;
+        if (tokenResponse.getInstanceUrl() != null) {
+            return new InstanceUrlToken(accessToken, System.currentTimeMillis(), expireInMillis,
+                    tokenResponse.getInstanceUrl());
+        }
+        return new Token(accessToken, System.currentTimeMillis(), expireInMillis);
     }
 
     /**
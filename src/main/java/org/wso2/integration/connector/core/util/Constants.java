@@ -36,6 +36,7 @@ public class Constants {
 
     public static final String RESPONSE_VARIABLE = "responseVariable";
     public static final String OVERWRITE_BODY = "overwriteBody";
+    public static final String OPERATION_TIMEOUT = "operationTimeout";
     public static final String CONNECTION_NAME = "name";
     public static final String BASE = "base";
     public static final String REFRESH_TOKEN = "refreshToken";
@@ -43,10 +44,16 @@ public class Constants {
     public static final String CLIENT_SECRET = "clientSecret";
     public static final String TOKEN_ENDPOINT = "tokenEndpoint";
     public static final String DEVELOPER_TOKEN = "developerToken";
+    public static final String REFRESH_AHEAD_FRACTION = "refreshAheadFraction";
+    public static final String TOKEN_CLOCK_SKEW = "tokenClockSkew";
+    public static final String REFRESH_AHEAD_JITTER = "refreshAheadJitter";
+    public static final String SERVE_STALE_TOKEN = "serveStaleToken";
     public static final String PROPERTY_BASE = "uri.var.base";
     public static final String PROPERTY_ACCESS_TOKEN = "_ACTIVE_ACCESS_TOKEN_";
     public static final String PROPERTY_ERROR_CODE = "ERROR_CODE";
     public static final String PROPERTY_ERROR_MESSAGE = "ERROR_MESSAGE";
+    public static final String PROPERTY_DEADLINE = "_CONNECTOR_DEADLINE_";
+    public static final String STATUS_CODE = "statusCode";
     public static final String GENERAL_ERROR_MSG = "Connector encountered an error: ";
 
     public static class ErrorCodes {
@@ -63,6 +70,12 @@ public class Constants {
         public static final String REFRESH_TOKEN = "refresh_token";
         public static final String ACCESS_TOKEN = "access_token";
         public static final String EXPIRES_IN = "expires_in";
+        public static final String SCOPE = "scope";
+        public static final String USERNAME = "username";
+        public static final String PASSWORD = "password";
+        public static final String ASSERTION = "assertion";
+        public static final String CLIENT_CREDENTIALS = "client_credentials";
+        public static final String JWT_BEARER = "urn:ietf:params:oauth:grant-type:jwt-bearer";
     }
 }
 
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.util;
+
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Deduplicates concurrent executions of the same task. The first caller for a key executes the task while
+ * the callers arriving before it completes wait for the same result instead of executing the task again.
+ * Callers for different keys never wait for each other.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the result
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Task executed once for all concurrent callers of a key
+     *
+     * @param <V> type of the result
+     */
+    public interface Task<V> {
+
+        V execute() throws ConnectException;
+    }
+
+    /**
+     * Executes the task, or waits for the in-flight execution of the same key
+     *
+     * @param key  key of the task
+     * @param task task to be executed
+     * @return result of the task
+     * @throws ConnectException if the task failed
+     */
+    public V execute(K key, Task<V> task) throws ConnectException {
+
+        return execute(key, task, null);
+    }
+
+    /**
+     * Executes the task, or waits for the in-flight execution of the same key until the deadline
+     *
+     * @param key      key of the task
+     * @param task     task to be executed
+     * @param deadline deadline of the caller, can be null
+     * @return result of the task
+     * @throws ConnectException if the task failed or the deadline is exceeded while waiting
+     */
+    public V execute(K key, Task<V> task, Deadline deadline) throws ConnectException {
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing, deadline);
+        }
+        try {
+            V result = task.execute();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors are propagated to the waiting callers as well, otherwise they would wait forever
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the in-flight execution of the key, if any
+     *
+     * @param key key of the task
+     * @return the future of the in-flight execution, null if there is none
+     */
+    public CompletableFuture<V> getInFlight(K key) {
+
+        return inFlight.get(key);
+    }
+
+    private V await(CompletableFuture<V> future, Deadline deadline) throws ConnectException {
+
+        try {
+            if (deadline == null) {
+                return future.get();
+            }
+            return future.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted while waiting for the in-flight execution.");
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Deadline exceeded while waiting for the in-flight execution.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectException) {
+                throw (ConnectException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ConnectException(cause, "Error occurred in the in-flight execution.");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.ContinuationState;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SequenceType;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.continuation.ContinuationStackManager;
+import org.apache.synapse.continuation.SeqContinuationState;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.data.connector.ConnectorResponse;
+import org.apache.synapse.data.connector.DefaultConnectorResponse;
+import org.apache.synapse.mediators.AbstractMediator;
+import org.apache.synapse.mediators.ext.ClassMediator;
+import org.apache.synapse.mediators.template.TemplateContext;
+import org.apache.synapse.mediators.template.TemplateMediator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractAsyncConnectorOperationTest {
+
+    private static final String TEMPLATE_NAME = "test.asyncOperation";
+
+    private final List<String> mediated = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch resumed = new CountDownLatch(1);
+    private ExecutorService executor;
+    private TemplateMediator template;
+    private TestOperation operation;
+    private MessageContext messageContext;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newSingleThreadExecutor();
+        operation = new TestOperation();
+        ClassMediator classMediator = new ClassMediator();
+        classMediator.setMediator(operation);
+        template = new TemplateMediator();
+        template.setName(TEMPLATE_NAME);
+        template.addChild(new RecordingMediator("before"));
+        template.addChild(classMediator);
+        template.addChild(new RecordingMediator("after"));
+
+        messageContext = TestUtils.createMessageContext(createEnvironment(),
+                Collections.singletonMap(TEMPLATE_NAME, template));
+        Stack<TemplateContext> funcStack = new Stack<>();
+        funcStack.push(new TemplateContext(TEMPLATE_NAME, Collections.emptyList()));
+        messageContext.setProperty(SynapseConstants.SYNAPSE__FUNCTION__STACK, funcStack);
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSuspendAndResumeThroughTemplate() throws InterruptedException {
+
+        messageContext.setContinuationEnabled(true);
+        messageContext.getContinuationStateStack().push(new SeqContinuationState(SequenceType.NAMED, TEMPLATE_NAME));
+
+        assertFalse(template.mediate(messageContext));
+        assertEquals(Collections.singletonList("before"), mediated);
+        ContinuationState state = ContinuationStackManager.peakContinuationStateStack(messageContext);
+        assertEquals(1, state.getPosition());
+
+        ConnectorResponse response = new DefaultConnectorResponse();
+        response.setPayload("{\"id\":1}");
+        operation.future.complete(response);
+        assertTrue(resumed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, mediated.size());
+        assertEquals("after", mediated.get(1));
+        assertNotNull(messageContext.getVariable("result"));
+    }
+
+    @Test
+    public void testCompletesSynchronouslyWithoutContinuation() {
+
+        ConnectorResponse response = new DefaultConnectorResponse();
+        response.setPayload("{\"id\":1}");
+        operation.future.complete(response);
+
+        assertTrue(template.mediate(messageContext));
+        assertEquals(2, mediated.size());
+        assertEquals("after", mediated.get(1));
+        assertNotNull(messageContext.getVariable("result"));
+    }
+
+    private SynapseEnvironment createEnvironment() {
+
+        return (SynapseEnvironment) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{SynapseEnvironment.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getExecutorService":
+                            return executor;
+                        case "mediateFromContinuationStateStack":
+                            // Resumes the template after the suspended mediator, as Synapse does
+                            MessageContext synCtx = (MessageContext) args[0];
+                            ContinuationState state = synCtx.getContinuationStateStack().pop();
+                            boolean result = template.mediate(synCtx, state.getPosition() + 1);
+                            resumed.countDown();
+                            return result;
+                        default:
+                            return method.getReturnType() == boolean.class ? false : null;
+                    }
+                });
+    }
+
+    private class RecordingMediator extends AbstractMediator {
+
+        private final String name;
+
+        private RecordingMediator(String name) {
+
+            this.name = name;
+        }
+
+        @Override
+        public boolean mediate(MessageContext synCtx) {
+
+            mediated.add(name);
+            return true;
+        }
+    }
+
+    private static class TestOperation extends AbstractAsyncConnectorOperation {
+
+        private final CompletableFuture<ConnectorResponse> future = new CompletableFuture<>();
+        private final Map<String, Object> parameters = new HashMap<>();
+
+        private TestOperation() {
+
+            parameters.put(Constants.RESPONSE_VARIABLE, "result");
+            parameters.put(Constants.OVERWRITE_BODY, "false");
+        }
+
+        @Override
+        protected Object getParameter(MessageContext messageContext, String paramName) {
+
+            return parameters.get(paramName);
+        }
+
+        @Override
+        public CompletableFuture<ConnectorResponse> executeAsync(MessageContext messageContext,
+                                                                 String responseVariable, Boolean overwriteBody) {
+
+            return future;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.data.connector.ConnectorResponse;
+import org.junit.Test;
+import org.wso2.integration.connector.core.util.ConnectorUtils;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class AbstractConnectorOperationTest {
+
+    @Test
+    public void testSuccessfulResponseIsCached() throws ConnectException {
+
+        CachingOperation operation = new CachingOperation();
+        assertEquals("{\"execution\":1}", connect(operation));
+        assertEquals("{\"execution\":1}", connect(operation));
+        assertEquals(1, operation.executions);
+    }
+
+    @Test
+    public void testFailedResponseIsNotCached() throws ConnectException {
+
+        CachingOperation operation = new CachingOperation();
+        operation.statusCode = 503;
+        assertEquals("{\"execution\":1}", connect(operation));
+
+        // The transient failure is not served to the next message
+        operation.statusCode = 200;
+        assertEquals("{\"execution\":2}", connect(operation));
+        assertEquals("{\"execution\":2}", connect(operation));
+        assertEquals(2, operation.executions);
+    }
+
+    @Test
+    public void testResponseOfFailedMessageIsNotCached() throws ConnectException {
+
+        CachingOperation operation = new CachingOperation();
+        operation.errorCode = Constants.ErrorCodes.GENERAL_ERROR;
+        connect(operation);
+        operation.errorCode = null;
+        assertEquals("{\"execution\":2}", connect(operation));
+        assertEquals(2, operation.executions);
+    }
+
+    private static String connect(AbstractConnectorOperation operation) throws ConnectException {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        operation.connect(messageContext);
+        return ((ConnectorResponse) messageContext.getVariable("result")).getPayload().toString();
+    }
+
+    private static class CachingOperation extends AbstractConnectorOperation {
+
+        private final Map<String, Object> parameters = new HashMap<>();
+        private int executions;
+        private int statusCode = 200;
+        private String errorCode;
+
+        private CachingOperation() {
+
+            parameters.put(Constants.RESPONSE_VARIABLE, "result");
+            parameters.put(Constants.OVERWRITE_BODY, "false");
+        }
+
+        @Override
+        protected Object getParameter(MessageContext messageContext, String paramName) {
+
+            return parameters.get(paramName);
+        }
+
+        @Override
+        protected Map<String, Object> getCacheKeyParameters(MessageContext messageContext) {
+
+            return Collections.singletonMap("id", "1");
+        }
+
+        @Override
+        protected long getCacheTtlMillis(MessageContext messageContext) {
+
+            return 60000;
+        }
+
+        @Override
+        public void execute(MessageContext messageContext, String responseVariable, Boolean overwriteBody) {
+
+            executions++;
+            if (errorCode != null) {
+                ConnectorUtils.setErrorPropertiesToMessage(messageContext, errorCode, "Backend failure");
+            }
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put(Constants.STATUS_CODE, statusCode);
+            handleConnectorResponse(messageContext, responseVariable, overwriteBody,
+                    "{\"execution\":" + executions + "}", null, attributes);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.junit.Test;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeadlineTest {
+
+    @Test
+    public void testDeadlineFromProperty() {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        assertNull(Deadline.from(messageContext));
+        messageContext.setProperty(Constants.PROPERTY_DEADLINE, "1700000000000");
+        assertEquals(1700000000000L, Deadline.from(messageContext).getExpiryTimeMillis());
+        messageContext.setProperty(Constants.PROPERTY_DEADLINE, 1700000000001L);
+        assertEquals(1700000000001L, Deadline.from(messageContext).getExpiryTimeMillis());
+    }
+
+    @Test
+    public void testInvalidDeadlineIgnored() {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        messageContext.setProperty(Constants.PROPERTY_DEADLINE, "30s");
+        assertNull(Deadline.from(messageContext));
+    }
+
+    @Test
+    public void testSetKeepsEarlierDeadline() {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        Deadline earlier = Deadline.after(1000);
+        Deadline.set(messageContext, earlier);
+        Deadline.set(messageContext, Deadline.after(60000));
+        assertSame(earlier, Deadline.from(messageContext));
+        Deadline later = Deadline.after(10);
+        Deadline.set(messageContext, later);
+        assertSame(later, Deadline.from(messageContext));
+    }
+
+    @Test
+    public void testOperationTimeoutAppliesToOperationOnly() throws ConnectException {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        TestOperation operation = new TestOperation("5000");
+        operation.connect(messageContext);
+        assertNotNull(operation.deadline);
+        assertTrue(operation.deadline.remainingMillis() <= 5000);
+        assertNull(Deadline.from(messageContext));
+
+        Deadline messageDeadline = Deadline.after(60000);
+        Deadline.set(messageContext, messageDeadline);
+        operation.connect(messageContext);
+        assertTrue(operation.deadline.getExpiryTimeMillis() < messageDeadline.getExpiryTimeMillis());
+        assertSame(messageDeadline, Deadline.from(messageContext));
+    }
+
+    @Test
+    public void testDeadlineRestoredAfterFailure() {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, Collections.emptyMap());
+        TestOperation operation = new TestOperation("5000");
+        operation.failure = new ConnectException("Backend failure");
+        try {
+            operation.connect(messageContext);
+            fail("expected ConnectException");
+        } catch (ConnectException e) {
+            assertSame(operation.failure, e);
+        }
+        assertNull(Deadline.from(messageContext));
+    }
+
+    private static class TestOperation extends AbstractConnectorOperation {
+
+        private final Map<String, Object> parameters = new HashMap<>();
+        private Deadline deadline;
+        private ConnectException failure;
+
+        private TestOperation(String operationTimeout) {
+
+            parameters.put(Constants.RESPONSE_VARIABLE, "result");
+            parameters.put(Constants.OVERWRITE_BODY, "false");
+            parameters.put(Constants.OPERATION_TIMEOUT, operationTimeout);
+        }
+
+        @Override
+        protected Object getParameter(MessageContext messageContext, String paramName) {
+
+            return parameters.get(paramName);
+        }
+
+        @Override
+        public void execute(MessageContext messageContext, String responseVariable, Boolean overwriteBody)
+                throws ConnectException {
+
+            deadline = getDeadline(messageContext);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
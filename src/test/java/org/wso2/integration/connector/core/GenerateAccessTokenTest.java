@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseLog;
+import org.apache.synapse.registry.Registry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.authentication.TokenResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class GenerateAccessTokenTest {
+
+    private static final Registry REGISTRY = (Registry) Proxy.newProxyInstance(
+            GenerateAccessTokenTest.class.getClassLoader(), new Class[]{Registry.class}, (proxy, method, args) -> null);
+    private static final SynapseLog LOG = (SynapseLog) Proxy.newProxyInstance(
+            GenerateAccessTokenTest.class.getClassLoader(), new Class[]{SynapseLog.class},
+            (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+
+    private TestTokenEndpoint tokenEndpoint;
+    private final List<String> handledResponses = new CopyOnWriteArrayList<>();
+    private final GenerateAccessToken mediator = new GenerateAccessToken() {
+
+        @Override
+        protected SynapseLog getLog(MessageContext messageContext) {
+
+            return LOG;
+        }
+
+        @Override
+        protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext, String jsonResponse,
+                                                                TokenResponse tokenResponse, Registry registry,
+                                                                String accessTokenRegistryPath)
+                throws ConnectException {
+
+            handledResponses.add(jsonResponse);
+            super.extractAndSetPropertyAndRegistryResource(messageContext, jsonResponse, tokenResponse, registry,
+                    accessTokenRegistryPath);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+
+        tokenEndpoint = new TestTokenEndpoint();
+    }
+
+    @After
+    public void tearDown() {
+
+        tokenEndpoint.close();
+    }
+
+    @Test
+    public void testCachedTokenIsReused() throws Exception {
+
+        MessageContext messageContext = createMessageContext("secret");
+        mediator.handleTokenGeneration(messageContext, REGISTRY, "conf:/test/reused");
+        assertEquals("token-1", messageContext.getProperty("uri.var.accessToken"));
+
+        MessageContext nextMessageContext = createMessageContext("secret");
+        mediator.handleTokenGeneration(nextMessageContext, REGISTRY, "conf:/test/reused");
+        assertEquals("token-1", nextMessageContext.getProperty("uri.var.accessToken"));
+        assertEquals(1, tokenEndpoint.getRequests().size());
+        assertEquals(1, handledResponses.size());
+        assertEquals("client_credentials", tokenEndpoint.getRequests().get(0).get("grant_type"));
+    }
+
+    @Test
+    public void testTokenOfOtherCredentialsIsNotReused() throws Exception {
+
+        mediator.handleTokenGeneration(createMessageContext("secret"), REGISTRY, "conf:/test/credentials");
+        MessageContext messageContext = createMessageContext("otherSecret");
+        mediator.handleTokenGeneration(messageContext, REGISTRY, "conf:/test/credentials");
+
+        assertEquals("token-2", messageContext.getProperty("uri.var.accessToken"));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testTokenWithoutLifetimeIsNotReused() throws Exception {
+
+        tokenEndpoint.setResponse("{\"access_token\":\"noLifetime\"}");
+        mediator.handleTokenGeneration(createMessageContext("secret"), REGISTRY, "conf:/test/noLifetime");
+        MessageContext messageContext = createMessageContext("secret");
+        mediator.handleTokenGeneration(messageContext, REGISTRY, "conf:/test/noLifetime");
+
+        assertEquals("noLifetime", messageContext.getProperty("uri.var.accessToken"));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testConcurrentMessagesShareOneRequest() throws Exception {
+
+        tokenEndpoint.setDelayMillis(200);
+        int messages = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(messages);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MessageContext>> messageContexts = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            messageContexts.add(executor.submit(() -> {
+                MessageContext messageContext = createMessageContext("secret");
+                start.await();
+                mediator.handleTokenGeneration(messageContext, REGISTRY, "conf:/test/concurrent");
+                return messageContext;
+            }));
+        }
+        start.countDown();
+        for (Future<MessageContext> messageContext : messageContexts) {
+            assertEquals("token-1", messageContext.get(10, TimeUnit.SECONDS).getProperty("uri.var.accessToken"));
+        }
+        executor.shutdown();
+        assertEquals(1, tokenEndpoint.getRequests().size());
+        assertEquals(1, handledResponses.size());
+    }
+
+    @Test
+    public void testOverrideOfRawResponseHandlerIsCalled() throws Exception {
+
+        tokenEndpoint.setResponse("{\"token\":\"legacy\",\"expires_in\":3600}");
+        GenerateAccessToken legacyMediator = new GenerateAccessToken() {
+
+            @Override
+            protected SynapseLog getLog(MessageContext messageContext) {
+
+                return LOG;
+            }
+
+            @Override
+            protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext,
+                                                                    String jsonResponse, Registry registry,
+                                                                    String accessTokenRegistryPath) {
+
+                handledResponses.add(jsonResponse);
+                messageContext.setProperty("uri.var.accessToken", "legacy");
+            }
+        };
+        MessageContext messageContext = createMessageContext("secret");
+        legacyMediator.handleTokenGeneration(messageContext, REGISTRY, "conf:/test/legacy");
+
+        assertEquals("legacy", messageContext.getProperty("uri.var.accessToken"));
+        assertEquals(1, handledResponses.size());
+    }
+
+    private MessageContext createMessageContext(String clientSecret) {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, new HashMap<>());
+        messageContext.setProperty("uri.var.tokenEndpointUrl", tokenEndpoint.getUrl());
+        messageContext.setProperty("uri.var.clientId", "client");
+        messageContext.setProperty("uri.var.clientSecret", clientSecret);
+        return messageContext;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseLog;
+import org.apache.synapse.registry.Registry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+
+public class RefreshAccessTokenTest {
+
+    private static final Registry REGISTRY = (Registry) Proxy.newProxyInstance(
+            RefreshAccessTokenTest.class.getClassLoader(), new Class[]{Registry.class}, (proxy, method, args) -> null);
+    private static final SynapseLog LOG = (SynapseLog) Proxy.newProxyInstance(
+            RefreshAccessTokenTest.class.getClassLoader(), new Class[]{SynapseLog.class},
+            (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+
+    private TestTokenEndpoint tokenEndpoint;
+    private final RefreshAccessToken mediator = new RefreshAccessToken() {
+
+        @Override
+        protected SynapseLog getLog(MessageContext messageContext) {
+
+            return LOG;
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+
+        tokenEndpoint = new TestTokenEndpoint();
+    }
+
+    @After
+    public void tearDown() {
+
+        tokenEndpoint.close();
+    }
+
+    @Test
+    public void testCachedTokenKeepsInstanceUrl() throws Exception {
+
+        tokenEndpoint.setResponse("{\"access_token\":\"token\",\"expires_in\":3600,"
+                + "\"instance_url\":\"https://instance.example.com\"}");
+        MessageContext messageContext = createMessageContext();
+        mediator.handleRefresh(messageContext, REGISTRY, "conf:/test/instanceUrl");
+        assertEquals("https://instance.example.com", messageContext.getProperty("uri.var.apiUrl"));
+
+        MessageContext nextMessageContext = createMessageContext();
+        mediator.handleRefresh(nextMessageContext, REGISTRY, "conf:/test/instanceUrl");
+        assertEquals("token", nextMessageContext.getProperty("uri.var.accessToken"));
+        assertEquals("https://instance.example.com", nextMessageContext.getProperty("uri.var.apiUrl"));
+        assertEquals(1, tokenEndpoint.getRequests().size());
+        assertEquals("refresh", tokenEndpoint.getRequests().get(0).get("refresh_token"));
+    }
+
+    @Test
+    public void testForceRefreshReplacesCachedToken() throws Exception {
+
+        mediator.handleRefresh(createMessageContext(), REGISTRY, "conf:/test/forceRefresh");
+        MessageContext messageContext = createMessageContext();
+        messageContext.setProperty("uri.var.forceRefresh", "true");
+        mediator.handleRefresh(messageContext, REGISTRY, "conf:/test/forceRefresh");
+        assertEquals("token-2", messageContext.getProperty("uri.var.accessToken"));
+
+        MessageContext nextMessageContext = createMessageContext();
+        mediator.handleRefresh(nextMessageContext, REGISTRY, "conf:/test/forceRefresh");
+        assertEquals("token-2", nextMessageContext.getProperty("uri.var.accessToken"));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testOverrideOfRawResponseHandlerIsCalled() throws Exception {
+
+        tokenEndpoint.setResponse("{\"token\":\"legacy\",\"expires_in\":3600}");
+        RefreshAccessToken legacyMediator = new RefreshAccessToken() {
+
+            @Override
+            protected SynapseLog getLog(MessageContext messageContext) {
+
+                return LOG;
+            }
+
+            @Override
+            protected void extractAndSetPropertyAndRegistryResource(MessageContext messageContext,
+                                                                    String jsonResponse, Registry registry,
+                                                                    String accessTokenRegistryPath) {
+
+                messageContext.setProperty("uri.var.accessToken", "legacy");
+            }
+        };
+        MessageContext messageContext = createMessageContext();
+        legacyMediator.handleRefresh(messageContext, REGISTRY, "conf:/test/legacy");
+
+        assertEquals("legacy", messageContext.getProperty("uri.var.accessToken"));
+    }
+
+    private MessageContext createMessageContext() {
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, new HashMap<>());
+        messageContext.setProperty("uri.var.tokenEndpointUrl", tokenEndpoint.getUrl());
+        messageContext.setProperty("uri.var.clientId", "client");
+        messageContext.setProperty("uri.var.refreshToken", "refresh");
+        return messageContext;
+    }
+}
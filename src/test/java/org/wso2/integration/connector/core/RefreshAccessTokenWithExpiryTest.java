@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseLog;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.registry.Registry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.authentication.RegistryTokenCache;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class RefreshAccessTokenWithExpiryTest {
+
+    private static final String REGISTRY_PATH = "conf:/test/expiry";
+    private static final Registry REGISTRY = (Registry) Proxy.newProxyInstance(
+            RefreshAccessTokenWithExpiryTest.class.getClassLoader(), new Class[]{Registry.class},
+            (proxy, method, args) -> "getResourceProperties".equals(method.getName()) ? new Properties() : null);
+
+    private TestTokenEndpoint tokenEndpoint;
+    private final RefreshAccessTokenWithExpiry mediator = new RefreshAccessTokenWithExpiry() {
+
+        @Override
+        protected SynapseLog getLog(MessageContext messageContext) {
+
+            return (SynapseLog) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{SynapseLog.class},
+                    (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+
+        tokenEndpoint = new TestTokenEndpoint();
+    }
+
+    @After
+    public void tearDown() {
+
+        tokenEndpoint.close();
+        RegistryTokenCache.invalidate(REGISTRY_PATH);
+    }
+
+    @Test
+    public void testTokenWithinIntervalIsReused() throws Exception {
+
+        mediator.connect(createMessageContext());
+        MessageContext messageContext = createMessageContext();
+        mediator.connect(messageContext);
+        assertEquals("token-1", messageContext.getProperty("uri.var.accessToken"));
+        assertEquals(1, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testTokenPastIntervalIsRefreshed() throws Exception {
+
+        mediator.connect(createMessageContext());
+        // The token has not expired yet, but was obtained before the interval
+        RegistryTokenCache.put(REGISTRY_PATH, "token-1", System.currentTimeMillis() - 120000,
+                RegistryTokenCache.UNKNOWN_VERSION);
+        MessageContext messageContext = createMessageContext();
+        mediator.connect(messageContext);
+        assertEquals("token-2", messageContext.getProperty("uri.var.accessToken"));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+
+        MessageContext nextMessageContext = createMessageContext();
+        mediator.connect(nextMessageContext);
+        assertEquals("token-2", nextMessageContext.getProperty("uri.var.accessToken"));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+    }
+
+    private MessageContext createMessageContext() {
+
+        SynapseConfiguration configuration = new SynapseConfiguration() {
+
+            @Override
+            public Registry getRegistry() {
+
+                return REGISTRY;
+            }
+        };
+        MessageContext messageContext = TestUtils.createMessageContext(null, configuration, new HashMap<>());
+        messageContext.setProperty("uri.var.tokenEndpointUrl", tokenEndpoint.getUrl());
+        messageContext.setProperty("uri.var.clientId", "client");
+        messageContext.setProperty("uri.var.refreshToken", "expiry");
+        messageContext.setProperty("uri.var.accessTokenRegistryPath", REGISTRY_PATH);
+        messageContext.setProperty("uri.var.intervalTime", "60000");
+        return messageContext;
+    }
+}
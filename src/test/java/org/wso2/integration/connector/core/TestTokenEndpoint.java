@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URLEncodedUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Token endpoint of the tests, recording the form parameters of the requests it receives. Unless another response
+ * is set, the n-th request is answered with the access token "token-n" expiring in an hour, or in the set
+ * lifetime.
+ */
+public class TestTokenEndpoint implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+    private volatile String response;
+    private volatile long delayMillis;
+    private volatile long expiresIn = 3600;
+
+    public TestTokenEndpoint() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/token", exchange -> {
+            Map<String, String> parameters = new HashMap<>();
+            String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            for (NameValuePair parameter : URLEncodedUtils.parse(body, StandardCharsets.UTF_8)) {
+                parameters.put(parameter.getName(), parameter.getValue());
+            }
+            requests.add(parameters);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String responseBody = response != null ? response
+                    : "{\"access_token\":\"token-" + requests.size() + "\",\"expires_in\":" + expiresIn + "}";
+            byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    public String getUrl() {
+
+        return "http://localhost:" + server.getAddress().getPort() + "/token";
+    }
+
+    /**
+     * @return the form parameters of the received requests, in the order received
+     */
+    public List<Map<String, String>> getRequests() {
+
+        return requests;
+    }
+
+    public void setResponse(String response) {
+
+        this.response = response;
+    }
+
+    public void setDelayMillis(long delayMillis) {
+
+        this.delayMillis = delayMillis;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+
+        this.expiresIn = expiresIn;
+    }
+
+    @Override
+    public void close() {
+
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core;
+
+import org.apache.synapse.ContinuationState;
+import org.apache.synapse.FaultHandler;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.SynapseEnvironment;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Stack;
+
+/**
+ * Utilities of the tests, such as a lightweight message context keeping its properties and variables in memory.
+ */
+public class TestUtils {
+
+    private TestUtils() {
+
+    }
+
+    /**
+     * Creates a message context keeping its properties, variables, continuation state stack and fault stack in
+     * memory. The other methods of the message context return default values.
+     *
+     * @param environment The Synapse environment of the message, can be null
+     * @param templates   The sequence templates available to the message
+     * @return the message context
+     */
+    public static MessageContext createMessageContext(SynapseEnvironment environment,
+                                                      Map<String, Mediator> templates) {
+
+        return createMessageContext(environment, null, templates);
+    }
+
+    /**
+     * Creates a message context keeping its properties, variables, continuation state stack and fault stack in
+     * memory, with the given Synapse configuration.
+     *
+     * @param environment   The Synapse environment of the message, can be null
+     * @param configuration The Synapse configuration of the message, can be null
+     * @param templates     The sequence templates available to the message
+     * @return the message context
+     */
+    public static MessageContext createMessageContext(SynapseEnvironment environment,
+                                                      SynapseConfiguration configuration,
+                                                      Map<String, Mediator> templates) {
+
+        Map<String, Object> properties = new HashMap<>();
+        Map<String, Object> variables = new HashMap<>();
+        Stack<ContinuationState> continuationStateStack = new Stack<>();
+        Stack<FaultHandler> faultStack = new Stack<>();
+        boolean[] continuationEnabled = new boolean[1];
+        return (MessageContext) Proxy.newProxyInstance(TestUtils.class.getClassLoader(),
+                new Class[]{MessageContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getProperty":
+                            return properties.get((String) args[0]);
+                        case "setProperty":
+                            properties.put((String) args[0], args[1]);
+                            return null;
+                        case "getPropertyKeySet":
+                            return properties.keySet();
+                        case "getVariable":
+                            return variables.get((String) args[0]);
+                        case "setVariable":
+                            variables.put((String) args[0], args[1]);
+                            return null;
+                        case "getEnvironment":
+                            return environment;
+                        case "getConfiguration":
+                            return configuration;
+                        case "getSequenceTemplate":
+                            return templates.get((String) args[0]);
+                        case "getContinuationStateStack":
+                            return continuationStateStack;
+                        case "getFaultStack":
+                            return faultStack;
+                        case "isContinuationEnabled":
+                            return continuationEnabled[0];
+                        case "setContinuationEnabled":
+                            continuationEnabled[0] = (Boolean) args[0];
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "TestMessageContext";
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.config.Entry;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.config.SynapseObserver;
+import org.apache.synapse.mediators.template.TemplateContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.TestTokenEndpoint;
+import org.wso2.integration.connector.core.TestUtils;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClientCredentialsHandlerTest {
+
+    private static final String CONNECTION_NAME = "clientCredentialsConnection";
+    private static final String TOKEN_ENDPOINT = "https://localhost/oauth2/token";
+
+    private final Entry localEntry = new Entry(CONNECTION_NAME);
+    private final List<SynapseObserver> observers = new ArrayList<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger entryDefinitionLookups = new AtomicInteger();
+    private SynapseConfiguration configuration;
+
+    @Before
+    public void setUp() {
+
+        configuration = new SynapseConfiguration() {
+
+            @Override
+            public Entry getEntryDefinition(String key) {
+
+                entryDefinitionLookups.incrementAndGet();
+                return CONNECTION_NAME.equals(key) ? localEntry : null;
+            }
+
+            @Override
+            public void registerObserver(SynapseObserver observer) {
+
+                observers.add(observer);
+            }
+        };
+        TokenManager.addToken(tokenKey("secret1"), new Token("token1", System.currentTimeMillis(), 3600000L));
+        TokenManager.addToken(tokenKey("secret2"), new Token("token2", System.currentTimeMillis(), 3600000L));
+    }
+
+    @After
+    public void tearDown() {
+
+        undeploy();
+        TokenManager.clean();
+    }
+
+    @Test
+    public void testCredentialsOfConnectionAreReused() throws ConnectException {
+
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        assertEquals("token1", connect(handler, "secret1"));
+        assertEquals("token1", connect(handler, "secret1"));
+    }
+
+    @Test
+    public void testDynamicParameterIsResolvedPerMessage() throws ConnectException {
+
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        // The client secret is resolved per message, e.g. from a message property, and differs between messages
+        assertEquals("token1", connect(handler, "secret1"));
+        assertEquals("token2", connect(handler, "secret2"));
+        assertEquals("token1", connect(handler, "secret1"));
+    }
+
+    @Test
+    public void testStaticCredentialsAreServedWithoutLookups() throws Exception {
+
+        localEntry.setValue(AXIOMUtil.stringToOM("<test.init><name>" + CONNECTION_NAME + "</name>"
+                + "<clientId>client</clientId><clientSecret>secret1</clientSecret></test.init>"));
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        assertEquals("token1", connect(handler, "secret1"));
+
+        lookups.set(0);
+        entryDefinitionLookups.set(0);
+        // The parameters of the message are not resolved, only the connection name is looked up
+        assertEquals("token1", connect(handler, "secret2"));
+        assertEquals(1, lookups.get());
+        assertEquals(0, entryDefinitionLookups.get());
+    }
+
+    @Test
+    public void testStaticCredentialsAreDroppedOnUndeploy() throws Exception {
+
+        localEntry.setValue(AXIOMUtil.stringToOM("<test.init><clientSecret>secret1</clientSecret></test.init>"));
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        assertEquals("token1", connect(handler, "secret1"));
+
+        undeploy();
+        localEntry.setValue(AXIOMUtil.stringToOM("<test.init><clientSecret>secret2</clientSecret></test.init>"));
+        assertEquals("token2", connect(handler, "secret2"));
+    }
+
+    @Test
+    public void testExpressionParameterIsResolvedPerMessage() throws Exception {
+
+        localEntry.setValue(AXIOMUtil.stringToOM(
+                "<test.init><clientSecret>{$ctx:clientSecret}</clientSecret></test.init>"));
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        assertEquals("token1", connect(handler, "secret1"));
+        assertEquals("token2", connect(handler, "secret2"));
+    }
+
+    @Test
+    public void testInvalidateTokenReplacesRejectedTokenOnce() throws ConnectException, IOException {
+
+        ClientCredentialsHandler handler = new ClientCredentialsHandler();
+        try (TestTokenEndpoint tokenEndpoint = new TestTokenEndpoint()) {
+            MessageContext messageContext = createMessageContext(tokenEndpoint.getUrl(), "secret");
+            handler.connect(messageContext);
+            MessageContext otherMessageContext = createMessageContext(tokenEndpoint.getUrl(), "secret");
+            handler.connect(otherMessageContext);
+            assertEquals("token-1", otherMessageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN));
+
+            // Both messages were rejected with the same token, only the first one calls the token endpoint
+            handler.invalidateToken(messageContext);
+            handler.invalidateToken(otherMessageContext);
+            assertEquals("token-2", messageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN));
+            assertEquals("token-2", otherMessageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN));
+            assertEquals(2, tokenEndpoint.getRequests().size());
+            assertEquals(Constants.OAuth2.REFRESH_TOKEN,
+                    tokenEndpoint.getRequests().get(1).get(Constants.OAuth2.GRANT_TYPE));
+
+            MessageContext nextMessageContext = createMessageContext(tokenEndpoint.getUrl(), "secret");
+            handler.connect(nextMessageContext);
+            assertEquals("token-2", nextMessageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN));
+        }
+    }
+
+    private String connect(ClientCredentialsHandler handler, String clientSecret) throws ConnectException {
+
+        MessageContext messageContext = createMessageContext(TOKEN_ENDPOINT, clientSecret);
+        handler.connect(messageContext);
+        assertEquals("https://localhost/api", messageContext.getProperty(Constants.PROPERTY_BASE));
+        return (String) messageContext.getProperty(Constants.PROPERTY_ACCESS_TOKEN);
+    }
+
+    private MessageContext createMessageContext(String tokenEndpoint, String clientSecret) {
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(Constants.CONNECTION_NAME, CONNECTION_NAME);
+        parameters.put(Constants.BASE, "https://localhost/api/");
+        parameters.put(Constants.TOKEN_ENDPOINT, tokenEndpoint);
+        parameters.put(Constants.CLIENT_ID, "client");
+        parameters.put(Constants.CLIENT_SECRET, clientSecret);
+        parameters.put(Constants.REFRESH_TOKEN, "refresh");
+        TemplateContext templateContext = new TemplateContext("init", new ArrayList<>(parameters.keySet())) {
+
+            @Override
+            public Object getParameterValue(String name) {
+
+                lookups.incrementAndGet();
+                return super.getParameterValue(name);
+            }
+        };
+        templateContext.setMappedValues(parameters);
+        Stack<TemplateContext> functionStack = new Stack<>();
+        functionStack.push(templateContext);
+
+        MessageContext messageContext = TestUtils.createMessageContext(null, configuration, Collections.emptyMap());
+        messageContext.setProperty(SynapseConstants.SYNAPSE__FUNCTION__STACK, functionStack);
+        return messageContext;
+    }
+
+    private void undeploy() {
+
+        for (SynapseObserver observer : observers) {
+            observer.entryRemoved(localEntry);
+        }
+    }
+
+    private static String tokenKey(String clientSecret) {
+
+        return TokenRequest.refreshToken(CONNECTION_NAME, TOKEN_ENDPOINT, "client", clientSecret, "refresh")
+                .getTokenKey();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JdbcTokenStoreTest {
+
+    private static final String TABLE = "CONNECTOR_TOKENS";
+    private static final String KEY = "connection";
+    private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+
+    private JdbcDataSource dataSource;
+
+    @Before
+    public void setUp() throws ConnectException {
+
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tokens" + DATABASE_COUNT.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTokenStore(dataSource).createTable();
+    }
+
+    @Test
+    public void testTokenIsSharedByNodes() {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(0, 30000, 5000);
+        Token token = activeToken("token1");
+        node1.add(KEY, token);
+        assertEquals("token1", node2.get(KEY).getAccessToken());
+    }
+
+    @Test
+    public void testNearCacheServesReads() throws InterruptedException {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(200, 30000, 5000);
+        node1.add(KEY, activeToken("token1"));
+        assertEquals("token1", node2.get(KEY).getAccessToken());
+        node1.add(KEY, activeToken("token2"));
+        assertEquals("token1", node2.get(KEY).getAccessToken());
+        Thread.sleep(250);
+        assertEquals("token2", node2.get(KEY).getAccessToken());
+    }
+
+    @Test
+    public void testConcurrentRefreshUsesSingleLease() throws Exception {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(0, 30000, 5000);
+        AtomicInteger refreshes = new AtomicInteger();
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Token> leader = executor.submit(() -> node1.refresh(KEY, null, () -> {
+                refreshes.incrementAndGet();
+                refreshing.countDown();
+                await(release);
+                return activeToken("token1");
+            }));
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+            // The lease is held by the first node, hence the second node waits for its token
+            Future<Token> follower = executor.submit(() -> node2.refresh(KEY, null, () -> {
+                refreshes.incrementAndGet();
+                return activeToken("token2");
+            }));
+            Thread.sleep(200);
+            release.countDown();
+            assertEquals("token1", leader.get(5, TimeUnit.SECONDS).getAccessToken());
+            assertEquals("token1", follower.get(5, TimeUnit.SECONDS).getAccessToken());
+            assertEquals(1, refreshes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExpiredLeaseIsTakenOver() throws Exception {
+
+        JdbcTokenStore node = createStore(0, 30000, 5000);
+        // A node that failed while holding the lease
+        insertLease("failedNode", System.currentTimeMillis() + 200);
+        long start = System.currentTimeMillis();
+        Token token = node.refresh(KEY, null, () -> activeToken("token1"));
+        assertEquals("token1", token.getAccessToken());
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        assertEquals("token1", createStore(0, 30000, 5000).get(KEY).getAccessToken());
+    }
+
+    @Test
+    public void testRefreshesLocallyAfterMaxWait() throws Exception {
+
+        JdbcTokenStore node = createStore(0, 30000, 200);
+        insertLease("slowNode", System.currentTimeMillis() + 60000);
+        Token token = node.refresh(KEY, null, () -> activeToken("token1"));
+        assertEquals("token1", token.getAccessToken());
+    }
+
+    @Test
+    public void testRefreshReturnsTokenRenewedByAnotherNode() throws ConnectException {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(0, 30000, 5000);
+        Token stale = activeToken("token1");
+        node1.add(KEY, stale);
+        node1.add(KEY, activeToken("token2"));
+        AtomicInteger refreshes = new AtomicInteger();
+        Token token = node2.refresh(KEY, stale, () -> {
+            refreshes.incrementAndGet();
+            return activeToken("token3");
+        });
+        assertEquals("token2", token.getAccessToken());
+        assertEquals(0, refreshes.get());
+    }
+
+    @Test
+    public void testConditionalRemove() {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(0, 30000, 5000);
+        Token token = activeToken("token1");
+        node1.add(KEY, token);
+        assertFalse(node2.remove(KEY, activeToken("token0")));
+        assertEquals("token1", node2.get(KEY).getAccessToken());
+        assertTrue(node2.remove(KEY, token));
+        assertNull(node1.get(KEY));
+        assertFalse(node2.remove(KEY, token));
+    }
+
+    @Test
+    public void testConditionalRemoveKeepsLeasedToken() throws SQLException {
+
+        JdbcTokenStore node = createStore(0, 30000, 5000);
+        Token token = activeToken("token1");
+        node.add(KEY, token);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE " + TABLE
+                     + " SET LEASE_OWNER = ?, LEASE_EXPIRY = ? WHERE TOKEN_KEY = ?")) {
+            statement.setString(1, "refreshingNode");
+            statement.setLong(2, System.currentTimeMillis() + 60000);
+            statement.setString(3, KEY);
+            statement.executeUpdate();
+        }
+        assertFalse(node.remove(KEY, token));
+    }
+
+    @Test
+    public void testRemoveKeepsTokenStoredByAnotherNode() {
+
+        JdbcTokenStore node1 = createStore(0, 30000, 5000);
+        JdbcTokenStore node2 = createStore(0, 30000, 5000);
+        node1.add(KEY, activeToken("token1"));
+        assertEquals("token1", node2.get(KEY).getAccessToken());
+        node1.add(KEY, activeToken("token2"));
+        node2.remove(KEY);
+        assertEquals("token2", node2.get(KEY).getAccessToken());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTableName() {
+
+        new JdbcTokenStore(dataSource, "TOKENS; DROP TABLE X", 0, 30000, 5000);
+    }
+
+    private JdbcTokenStore createStore(long nearCacheMillis, long leaseMillis, long maxWaitMillis) {
+
+        return new JdbcTokenStore(dataSource, TABLE, nearCacheMillis, leaseMillis, maxWaitMillis);
+    }
+
+    private void insertLease(String owner, long expiry) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO " + TABLE
+                     + " (TOKEN_KEY, LEASE_OWNER, LEASE_EXPIRY) VALUES (?, ?, ?)")) {
+            statement.setString(1, KEY);
+            statement.setString(2, owner);
+            statement.setLong(3, expiry);
+            statement.executeUpdate();
+        }
+    }
+
+    private static Token activeToken(String accessToken) {
+
+        return new Token(accessToken, System.currentTimeMillis(), 3600000L);
+    }
+
+    private static void await(CountDownLatch latch) throws ConnectException {
+
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new ConnectException("Timed out waiting for the latch.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted");
+        }
+    }
+}
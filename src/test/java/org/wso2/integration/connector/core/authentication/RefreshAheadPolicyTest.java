@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RefreshAheadPolicyTest {
+
+    @Test
+    public void testRefreshAfterFraction() {
+
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(0.8, 0, 0);
+        long delay = policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 100000L));
+        assertTrue("Delay " + delay, delay > 79000 && delay <= 80000);
+    }
+
+    @Test
+    public void testRefreshBeforeClockSkew() {
+
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(0.9, 30000, 0);
+        long delay = policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 100000L));
+        assertTrue("Delay " + delay, delay > 69000 && delay <= 70000);
+    }
+
+    @Test
+    public void testJitterBringsRefreshForward() {
+
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(0.8, 0, 0.5);
+        for (int i = 0; i < 20; i++) {
+            long delay = policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 100000L));
+            assertTrue("Delay " + delay, delay >= 39000 && delay <= 80000);
+        }
+    }
+
+    @Test
+    public void testNoRefreshWhenLifetimeWithinClockSkew() {
+
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(0.8, 30000, 0);
+        assertEquals(RefreshAheadPolicy.NO_REFRESH,
+                policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 30000L)));
+        assertEquals(RefreshAheadPolicy.NO_REFRESH,
+                policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 10000L)));
+    }
+
+    @Test
+    public void testDelayFloorIsRelativeToLifetime() {
+
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(0.8, 30000, 0);
+        // Due almost at once because of the clock skew, hence delayed by a tenth of the lifetime
+        assertEquals(3100, policy.getRefreshDelay(new Token("token", System.currentTimeMillis(), 31000L)));
+        // Already due, e.g. a token obtained by another node
+        assertEquals(10000, policy.getRefreshDelay(new Token("token", System.currentTimeMillis() - 90000, 100000L)));
+    }
+}
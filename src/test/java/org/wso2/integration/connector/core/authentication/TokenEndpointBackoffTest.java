@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TokenEndpointBackoffTest {
+
+    @After
+    public void tearDown() {
+
+        TokenEndpointBackoff.configure(1000, 60000);
+    }
+
+    @Test
+    public void testFailureStartsBackoff() throws Exception {
+
+        TokenEndpointBackoff.configure(100, 1000);
+        String key = "failureStartsBackoff";
+        TokenEndpointBackoff.checkBackoff(key);
+        TokenEndpointBackoff.recordFailure(key, new IOException("Connection refused"));
+        assertBackingOff(key, "Connection refused");
+        Thread.sleep(150);
+        TokenEndpointBackoff.checkBackoff(key);
+    }
+
+    @Test
+    public void testBackoffDoublesUpToMaximum() throws Exception {
+
+        TokenEndpointBackoff.configure(100, 250);
+        String key = "backoffDoubles";
+        TokenEndpointBackoff.recordFailure(key, new IOException("first"));
+        TokenEndpointBackoff.recordFailure(key, new IOException("second"));
+        Thread.sleep(150);
+        // The second consecutive failure doubled the backoff to 200 ms
+        assertBackingOff(key, "second");
+        Thread.sleep(100);
+        TokenEndpointBackoff.checkBackoff(key);
+
+        for (int i = 0; i < 10; i++) {
+            TokenEndpointBackoff.recordFailure(key, new IOException("again"));
+        }
+        Thread.sleep(300);
+        TokenEndpointBackoff.checkBackoff(key);
+    }
+
+    @Test
+    public void testSuccessClearsBackoff() throws Exception {
+
+        String key = "successClearsBackoff";
+        TokenEndpointBackoff.recordFailure(key, new IOException("Connection refused"));
+        TokenEndpointBackoff.recordSuccess(key);
+        TokenEndpointBackoff.checkBackoff(key);
+    }
+
+    @Test
+    public void testKeysBackOffIndependently() throws Exception {
+
+        TokenEndpointBackoff.recordFailure("failingKey", new IOException("Connection refused"));
+        TokenEndpointBackoff.checkBackoff("otherKey");
+    }
+
+    @Test
+    public void testDeadlineExpiryIsNotRecorded() throws Exception {
+
+        String key = "deadlineExpiry";
+        TokenEndpointBackoff.recordFailure(key, new IOException("Read timed out"), Deadline.at(
+                System.currentTimeMillis() - 1));
+        TokenEndpointBackoff.recordFailure(key, new DeadlineExceededException("Deadline exceeded"),
+                Deadline.after(10000));
+        TokenEndpointBackoff.checkBackoff(key);
+
+        TokenEndpointBackoff.recordFailure(key, new IOException("Connection refused"), Deadline.after(10000));
+        assertBackingOff(key, "Connection refused");
+    }
+
+    private static void assertBackingOff(String key, String message) {
+
+        try {
+            TokenEndpointBackoff.checkBackoff(key);
+            fail("Expected the key to be backing off");
+        } catch (ConnectException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.integration.connector.core.TestTokenEndpoint;
+import org.wso2.integration.connector.core.util.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class TokenProviderTest {
+
+    private TestTokenEndpoint tokenEndpoint;
+
+    @Before
+    public void setUp() throws Exception {
+
+        tokenEndpoint = new TestTokenEndpoint();
+    }
+
+    @After
+    public void tearDown() {
+
+        tokenEndpoint.close();
+    }
+
+    @Test
+    public void testClientCredentialsGrant() throws Exception {
+
+        Token token = TokenProvider.getToken(TokenRequest.clientCredentials("clientCredentials",
+                tokenEndpoint.getUrl(), "client", "secret", null), null);
+
+        assertEquals("token-1", token.getAccessToken());
+        assertEquals(Long.valueOf(3600000), token.getExpireIn());
+        Map<String, String> expected = new HashMap<>();
+        expected.put(Constants.OAuth2.GRANT_TYPE, Constants.OAuth2.CLIENT_CREDENTIALS);
+        expected.put(Constants.OAuth2.CLIENT_ID, "client");
+        expected.put(Constants.OAuth2.CLIENT_SECRET, "secret");
+        // The blank scope is left out
+        assertEquals(expected, tokenEndpoint.getRequests().get(0));
+    }
+
+    @Test
+    public void testPasswordGrant() throws Exception {
+
+        Token token = TokenProvider.getToken(TokenRequest.password("password", tokenEndpoint.getUrl(), "client",
+                "secret", "admin", "p@ss word", "read"), null);
+
+        assertEquals("token-1", token.getAccessToken());
+        Map<String, String> expected = new HashMap<>();
+        expected.put(Constants.OAuth2.GRANT_TYPE, Constants.OAuth2.PASSWORD);
+        expected.put(Constants.OAuth2.CLIENT_ID, "client");
+        expected.put(Constants.OAuth2.CLIENT_SECRET, "secret");
+        expected.put(Constants.OAuth2.USERNAME, "admin");
+        expected.put(Constants.OAuth2.PASSWORD, "p@ss word");
+        expected.put(Constants.OAuth2.SCOPE, "read");
+        assertEquals(expected, tokenEndpoint.getRequests().get(0));
+    }
+
+    @Test
+    public void testJwtBearerGrant() throws Exception {
+
+        Token token = TokenProvider.getToken(TokenRequest.jwtBearer("jwtBearer", tokenEndpoint.getUrl(),
+                "header.claims.signature", null, null, "read write"), null);
+
+        assertEquals("token-1", token.getAccessToken());
+        Map<String, String> expected = new HashMap<>();
+        expected.put(Constants.OAuth2.GRANT_TYPE, Constants.OAuth2.JWT_BEARER);
+        expected.put(Constants.OAuth2.ASSERTION, "header.claims.signature");
+        expected.put(Constants.OAuth2.SCOPE, "read write");
+        assertEquals(expected, tokenEndpoint.getRequests().get(0));
+    }
+
+    @Test
+    public void testRefreshTokenGrant() throws Exception {
+
+        Token token = TokenProvider.getToken(TokenRequest.refreshToken("refreshToken", tokenEndpoint.getUrl(),
+                "client", "secret", "refresh"), null);
+
+        assertEquals("token-1", token.getAccessToken());
+        Map<String, String> expected = new HashMap<>();
+        expected.put(Constants.OAuth2.GRANT_TYPE, Constants.OAuth2.REFRESH_TOKEN);
+        expected.put(Constants.OAuth2.CLIENT_ID, "client");
+        expected.put(Constants.OAuth2.CLIENT_SECRET, "secret");
+        expected.put(Constants.OAuth2.REFRESH_TOKEN, "refresh");
+        assertEquals(expected, tokenEndpoint.getRequests().get(0));
+    }
+
+    @Test
+    public void testGetTokenReusesActiveToken() throws Exception {
+
+        TokenRequest request = TokenRequest.clientCredentials("reuse", tokenEndpoint.getUrl(), "client", "secret",
+                null);
+        Token token = TokenProvider.getToken(request, null);
+
+        assertSame(token, TokenProvider.getToken(request, null));
+        assertEquals(1, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testGetTokenKeepsTokensOfRequestsApart() throws Exception {
+
+        Token token = TokenProvider.getToken(TokenRequest.clientCredentials("apart", tokenEndpoint.getUrl(),
+                "client", "secret", "read"), null);
+        Token otherToken = TokenProvider.getToken(TokenRequest.clientCredentials("apart", tokenEndpoint.getUrl(),
+                "client", "secret", "write"), null);
+
+        assertNotEquals(token.getAccessToken(), otherToken.getAccessToken());
+        assertEquals(2, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testConcurrentGetTokenSharesOneRequest() throws Exception {
+
+        tokenEndpoint.setDelayMillis(200);
+        TokenRequest request = TokenRequest.clientCredentials("concurrent", tokenEndpoint.getUrl(), "client",
+                "secret", null);
+        int callers = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Token>> tokens = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            tokens.add(executor.submit(() -> {
+                start.await();
+                return TokenProvider.getToken(request, null);
+            }));
+        }
+        start.countDown();
+        for (Future<Token> token : tokens) {
+            assertEquals("token-1", token.get(10, TimeUnit.SECONDS).getAccessToken());
+        }
+        executor.shutdown();
+        assertEquals(1, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testInvalidateReplacesStaleTokenOnce() throws Exception {
+
+        TokenRequest request = TokenRequest.clientCredentials("invalidate", tokenEndpoint.getUrl(), "client",
+                "secret", null);
+        Token staleToken = TokenProvider.getToken(request, null);
+
+        Token newToken = TokenProvider.invalidate(request, staleToken, null);
+        assertEquals("token-2", newToken.getAccessToken());
+        // Another caller holding the same stale token gets the new token without calling the token endpoint
+        assertSame(newToken, TokenProvider.invalidate(request, staleToken, null));
+        assertEquals(2, tokenEndpoint.getRequests().size());
+        assertSame(newToken, TokenProvider.getCachedToken(request.getTokenKey()));
+    }
+
+    @Test
+    public void testInvalidateKeepsRenewingAhead() throws Exception {
+
+        tokenEndpoint.setExpiresIn(1);
+        TokenRequest request = TokenRequest.clientCredentials("renewAhead", tokenEndpoint.getUrl(), "client",
+                "secret", null);
+        Token staleToken = TokenProvider.getToken(request, null);
+
+        Token newToken = TokenProvider.invalidate(request, staleToken, new RefreshAheadPolicy(0.5, 0, 0), null);
+        assertEquals("token-2", newToken.getAccessToken());
+        // The new token is renewed half way through its lifetime
+        Thread.sleep(800);
+        assertEquals(3, tokenEndpoint.getRequests().size());
+        assertEquals("token-3", TokenProvider.getCachedToken(request.getTokenKey()).getAccessToken());
+        TokenManager.removeToken(request.getTokenKey());
+    }
+
+    @Test
+    public void testJwtBearerTokenIsReusedAcrossAssertions() throws Exception {
+
+        TokenRequest request = TokenRequest.jwtBearer("jwtReuse", tokenEndpoint.getUrl(),
+                jwt("{\"iss\":\"client\",\"sub\":\"user\",\"aud\":\"api\",\"jti\":\"1\"}"), null, null, null);
+        TokenRequest nextRequest = TokenRequest.jwtBearer("jwtReuse", tokenEndpoint.getUrl(),
+                jwt("{\"iss\":\"client\",\"sub\":\"user\",\"aud\":\"api\",\"jti\":\"2\"}"), null, null, null);
+        TokenRequest otherSubject = TokenRequest.jwtBearer("jwtReuse", tokenEndpoint.getUrl(),
+                jwt("{\"iss\":\"client\",\"sub\":\"other\",\"aud\":\"api\",\"jti\":\"3\"}"), null, null, null);
+
+        assertEquals(request.getTokenKey(), nextRequest.getTokenKey());
+        assertNotEquals(request.getTokenKey(), otherSubject.getTokenKey());
+        Token token = TokenProvider.getToken(request, null);
+        assertSame(token, TokenProvider.getToken(nextRequest, null));
+        assertEquals(1, tokenEndpoint.getRequests().size());
+    }
+
+    @Test
+    public void testJwtBearerTokenIsNotRenewedAhead() throws Exception {
+
+        tokenEndpoint.setExpiresIn(1);
+        TokenRequest request = TokenRequest.jwtBearer("jwtRenewAhead", tokenEndpoint.getUrl(),
+                jwt("{\"iss\":\"client\",\"sub\":\"user\",\"aud\":\"api\"}"), null, null, null);
+        TokenProvider.getToken(request, new RefreshAheadPolicy(0.5, 0, 0), null);
+
+        // The assertion cannot be replayed, hence the token is not renewed half way through its lifetime
+        Thread.sleep(800);
+        assertEquals(1, tokenEndpoint.getRequests().size());
+        TokenManager.removeToken(request.getTokenKey());
+    }
+
+    private static String jwt(String claims) {
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TokenResponseParserTest {
+
+    @After
+    public void tearDown() {
+
+        TokenResponseParser.configure(64 * 1024);
+    }
+
+    @Test
+    public void testParseAllFields() throws IOException {
+
+        TokenResponse response = TokenResponseParser.parse("{\"access_token\":\"token\",\"expires_in\":3600,"
+                + "\"refresh_token\":\"refresh\",\"token_type\":\"Bearer\",\"scope\":\"read write\","
+                + "\"instance_url\":\"https://instance.example.com\"}");
+        assertEquals("token", response.getAccessToken());
+        assertEquals(Long.valueOf(3600), response.getExpiresIn());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals("Bearer", response.getTokenType());
+        assertEquals("read write", response.getScope());
+        assertEquals("https://instance.example.com", response.getInstanceUrl());
+    }
+
+    @Test
+    public void testUnknownAndNullFieldsAreSkipped() throws IOException {
+
+        TokenResponse response = TokenResponseParser.parse("{\"id_token\":{\"nested\":[1,2,{\"a\":null}]},"
+                + "\"access_token\":\"token\",\"refresh_token\":null,\"extra\":[\"x\"]}");
+        assertEquals("token", response.getAccessToken());
+        assertNull(response.getRefreshToken());
+        assertNull(response.getExpiresIn());
+    }
+
+    @Test
+    public void testExpiresInAsStringOrDecimal() throws IOException {
+
+        assertEquals(Long.valueOf(3600),
+                TokenResponseParser.parse("{\"expires_in\":\"3600\"}").getExpiresIn());
+        assertEquals(Long.valueOf(3599),
+                TokenResponseParser.parse("{\"expires_in\":3599.9}").getExpiresIn());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNonObjectResponseIsRejected() throws IOException {
+
+        TokenResponseParser.parse("[\"access_token\"]");
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidExpiresInIsRejected() throws IOException {
+
+        TokenResponseParser.parse("{\"expires_in\":\"never\"}");
+    }
+
+    @Test
+    public void testParseEntity() throws IOException {
+
+        StringEntity entity = new StringEntity("{\"access_token\":\"token\",\"expires_in\":60}",
+                ContentType.APPLICATION_JSON);
+        TokenResponse response = TokenResponseParser.parse(entity);
+        assertEquals("token", response.getAccessToken());
+        assertEquals(Long.valueOf(60), response.getExpiresIn());
+    }
+
+    @Test(expected = IOException.class)
+    public void testEntityOverMaximumSizeIsRejected() throws IOException {
+
+        TokenResponseParser.configure(16);
+        TokenResponseParser.parse(new StringEntity("{\"access_token\":\"a-token-longer-than-the-limit\"}",
+                ContentType.APPLICATION_JSON));
+    }
+
+    @Test(expected = IOException.class)
+    public void testEntityOfUnknownLengthOverMaximumSizeIsRejected() throws IOException {
+
+        TokenResponseParser.configure(16);
+        byte[] content = "{\"access_token\":\"a-token-longer-than-the-limit\"}".getBytes(StandardCharsets.UTF_8);
+        // A content length of -1 states that the length is not known
+        TokenResponseParser.parse(new InputStreamEntity(new ByteArrayInputStream(content), -1,
+                ContentType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testToString() throws IOException {
+
+        assertEquals("{\"error\":\"invalid_client\"}", TokenResponseParser.toString(
+                new StringEntity("{\"error\":\"invalid_client\"}", ContentType.APPLICATION_JSON),
+                StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.authentication;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TokenStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testInMemoryStoreRemovesStaleToken() {
+
+        assertRemovesStaleToken(new InMemoryTokenStore(), "inMemory");
+    }
+
+    @Test
+    public void testBoundedStoreRemovesStaleToken() {
+
+        assertRemovesStaleToken(new BoundedTokenStore(10), "bounded");
+    }
+
+    @Test
+    public void testFileStoreRemovesStaleToken() throws Exception {
+
+        assertRemovesStaleToken(new FileTokenStore(folder.newFolder().getPath() + "/tokens",
+                "secret".toCharArray()), "file");
+    }
+
+    @Test
+    public void testInMemoryStoreKeepsRenewedToken() {
+
+        assertKeepsRenewedToken(new InMemoryTokenStore(), "inMemoryRenewed");
+    }
+
+    @Test
+    public void testBoundedStoreKeepsRenewedToken() {
+
+        assertKeepsRenewedToken(new BoundedTokenStore(10), "boundedRenewed");
+    }
+
+    @Test
+    public void testFileStoreKeepsRenewedToken() throws Exception {
+
+        assertKeepsRenewedToken(new FileTokenStore(folder.newFolder().getPath() + "/tokens",
+                "secret".toCharArray()), "fileRenewed");
+    }
+
+    private static void assertRemovesStaleToken(TokenStore store, String tokenKey) {
+
+        store.add(tokenKey, newToken("stale"));
+
+        // The stale token is matched by its access token, as callers may hold another instance of it
+        assertTrue(store.remove(tokenKey, newToken("stale")));
+        assertNull(store.get(tokenKey));
+        assertFalse(store.remove(tokenKey, newToken("stale")));
+    }
+
+    private static void assertKeepsRenewedToken(TokenStore store, String tokenKey) {
+
+        store.add(tokenKey, newToken("stale"));
+        store.add(tokenKey, newToken("renewed"));
+
+        assertFalse(store.remove(tokenKey, newToken("stale")));
+        assertEquals("renewed", store.get(tokenKey).getAccessToken());
+        store.remove(tokenKey);
+    }
+
+    private static Token newToken(String accessToken) {
+
+        return new Token(accessToken, System.currentTimeMillis(), 3600000L);
+    }
+}
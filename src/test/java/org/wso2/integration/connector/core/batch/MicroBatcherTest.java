@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.batch;
+
+import org.junit.Test;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MicroBatcherTest {
+
+    @Test
+    public void testFullBatchIsExecuted() throws Exception {
+
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(2, 0, 10000, Runnable::run, (items, deadline) -> {
+            batches.add(new ArrayList<>(items));
+            List<String> results = new ArrayList<>();
+            for (String item : items) {
+                results.add(item.toUpperCase());
+            }
+            return results;
+        });
+        CompletableFuture<String> first = batcher.submit("a", 1);
+        CompletableFuture<String> second = batcher.submit("b", 1);
+        assertEquals("A", first.get(1, TimeUnit.SECONDS));
+        assertEquals("B", second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void testExpiredItemIsLeftOutOfBatch() throws Exception {
+
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, 100, Runnable::run, (items, deadline) -> {
+            batches.add(new ArrayList<>(items));
+            return new ArrayList<>(items);
+        });
+        CompletableFuture<String> expiring = batcher.submit("a", 1, Deadline.after(10));
+        CompletableFuture<String> live = batcher.submit("b", 1, Deadline.after(10000));
+        assertEquals("b", live.get(1, TimeUnit.SECONDS));
+        try {
+            expiring.get(1, TimeUnit.SECONDS);
+            fail("Expected the expired item to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DeadlineExceededException);
+        }
+        assertEquals(Collections.singletonList(Collections.singletonList("b")), batches);
+    }
+
+    @Test
+    public void testBatchOfExpiredItemsIsNotExecuted() throws Exception {
+
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, 100, Runnable::run, (items, deadline) -> {
+            batches.add(new ArrayList<>(items));
+            return new ArrayList<>(items);
+        });
+        CompletableFuture<String> expiring = batcher.submit("a", 1, Deadline.after(10));
+        try {
+            expiring.get(1, TimeUnit.SECONDS);
+            fail("Expected the expired item to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DeadlineExceededException);
+        }
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void testCompletedItemIsLeftOutOfBatch() throws Exception {
+
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, 100, Runnable::run, (items, deadline) -> {
+            batches.add(new ArrayList<>(items));
+            return new ArrayList<>(items);
+        });
+        CompletableFuture<String> cancelled = batcher.submit("a", 1);
+        CompletableFuture<String> live = batcher.submit("b", 1);
+        cancelled.cancel(false);
+        assertEquals("b", live.get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Collections.singletonList("b")), batches);
+    }
+
+    @Test
+    public void testErrorFailsAllItems() throws Exception {
+
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, 10, Runnable::run, (items, deadline) -> {
+            throw new StackOverflowError("Batch call failed");
+        });
+        CompletableFuture<String> first = batcher.submit("a", 1);
+        CompletableFuture<String> second = batcher.submit("b", 1);
+        for (CompletableFuture<String> future : Arrays.asList(first, second)) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                fail("Expected the item to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof StackOverflowError);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchGetsEarliestDeadline() throws Exception {
+
+        List<Deadline> batchDeadlines = Collections.synchronizedList(new ArrayList<>());
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(3, 0, 10000, Runnable::run, (items, deadline) -> {
+            batchDeadlines.add(deadline);
+            return new ArrayList<>(items);
+        });
+        Deadline earliest = Deadline.after(5000);
+        batcher.submit("a", 1, Deadline.after(10000));
+        batcher.submit("b", 1, null);
+        assertEquals("c", batcher.submit("c", 1, earliest).get(1, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(earliest), batchDeadlines);
+    }
+}
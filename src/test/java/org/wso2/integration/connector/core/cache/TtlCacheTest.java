@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TtlCacheTest {
+
+    @Test
+    public void testGetAndExpiry() throws InterruptedException {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 0);
+        cache.put("key", "value", 50, 5);
+        assertEquals("value", cache.get("key"));
+        Thread.sleep(80);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testReplaceUpdatesSize() {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 0);
+        cache.put("key", "first", 10000, 5);
+        cache.put("key", "second", 10000, 8);
+        assertEquals("second", cache.get("key"));
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testInvalidateAndClear() {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 0);
+        cache.put("a", "a", 10000, 1);
+        cache.put("b", "b", 10000, 2);
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.getTotalBytes());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testNonPositiveTtlRemovesEntry() {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 0);
+        cache.put("key", "value", 10000, 1);
+        cache.put("key", "other", 0, 1);
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testOversizedEntryIsNotCached() {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 100);
+        cache.put("key", "value", 10000, 101);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testEntryBoundRejectsOneOffEntry() {
+
+        TtlCache<String, String> cache = new TtlCache<>(2, 0);
+        cache.put("a", "a", 10000, 1);
+        cache.put("b", "b", 10000, 1);
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+            cache.get("b");
+        }
+        cache.put("c", "c", 10000, 1);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("c"));
+        assertEquals("a", cache.get("a"));
+        assertEquals("b", cache.get("b"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEntryBoundAdmitsFrequentEntry() {
+
+        TtlCache<String, String> cache = new TtlCache<>(2, 0);
+        cache.put("a", "a", 10000, 1);
+        cache.put("b", "b", 10000, 1);
+        cache.get("a");
+        cache.get("b");
+        for (int i = 0; i < 10; i++) {
+            cache.get("c");
+        }
+        cache.put("c", "c", 10000, 1);
+        assertEquals(2, cache.size());
+        assertEquals("c", cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testExpiredEntryIsEvictedFirst() throws InterruptedException {
+
+        TtlCache<String, String> cache = new TtlCache<>(2, 0);
+        cache.put("a", "a", 20, 1);
+        cache.put("b", "b", 10000, 1);
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+            cache.get("b");
+        }
+        Thread.sleep(50);
+        cache.put("c", "c", 10000, 1);
+        assertEquals("b", cache.get("b"));
+        assertEquals("c", cache.get("c"));
+    }
+
+    @Test
+    public void testByteBound() {
+
+        TtlCache<String, String> cache = new TtlCache<>(10, 100);
+        cache.put("a", "a", 10000, 60);
+        cache.get("a");
+        cache.put("b", "b", 10000, 60);
+        assertNull(cache.get("b"));
+        assertEquals(60, cache.getTotalBytes());
+        for (int i = 0; i < 5; i++) {
+            cache.get("c");
+        }
+        cache.put("c", "c", 10000, 60);
+        assertNull(cache.get("a"));
+        assertEquals("c", cache.get("c"));
+        assertEquals(60, cache.getTotalBytes());
+    }
+}
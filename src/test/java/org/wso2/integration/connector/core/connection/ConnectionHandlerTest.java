@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.connection;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.pool.Configuration;
+import org.wso2.integration.connector.core.pool.ConnectionFactory;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionHandlerTest {
+
+    private static final String CONNECTOR = "connectionHandlerTest";
+
+    @After
+    public void tearDown() {
+
+        ConnectionHandler.getConnectionHandler().shutdownConnections(CONNECTOR);
+    }
+
+    @Test
+    public void testInvalidRateLimitRunsWithoutLimiter() throws ConnectException {
+
+        Configuration configuration = new Configuration();
+        configuration.setRateLimitEnabled(true);
+        configuration.setRateLimitPermitsPerSecond(0);
+        ConnectionHandler handler = ConnectionHandler.getConnectionHandler();
+        handler.createConnection(CONNECTOR, "invalidRate", new TestConnectionFactory(), configuration);
+
+        assertTrue(handler.checkIfConnectionExists(CONNECTOR, "invalidRate"));
+        for (int i = 0; i < 5; i++) {
+            Connection connection = handler.getConnection(CONNECTOR, "invalidRate");
+            assertNotNull(connection);
+            handler.returnConnection(CONNECTOR, "invalidRate", connection);
+        }
+    }
+
+    private static class TestConnectionFactory implements ConnectionFactory {
+
+        @Override
+        public Object makeObject() {
+
+            return new Connection() {
+
+                @Override
+                public void connect(ConnectionConfig config) {
+
+                }
+
+                @Override
+                public void close() {
+
+                }
+            };
+        }
+
+        @Override
+        public void destroyObject(Object obj) {
+
+        }
+
+        @Override
+        public boolean validateObject(Object obj) {
+
+            return true;
+        }
+
+        @Override
+        public void activateObject(Object obj) {
+
+        }
+
+        @Override
+        public void passivateObject(Object obj) {
+
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.fanout;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.connection.Connection;
+import org.wso2.integration.connector.core.connection.ConnectionConfig;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+import org.wso2.integration.connector.core.pool.Configuration;
+import org.wso2.integration.connector.core.pool.ConnectionFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScatterGatherTest {
+
+    private static final String CONNECTOR = "scatterGatherTest";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+        ConnectionHandler.getConnectionHandler().shutdownConnections(CONNECTOR);
+    }
+
+    @Test
+    public void testResultsOfAllBranches() {
+
+        createConnection("a", new TestConnectionFactory());
+        createConnection("b", new TestConnectionFactory());
+        ScatterGather<String> scatterGather = new ScatterGather<>(CONNECTOR, 2, 1000, executor);
+        GatherResult<String> result = scatterGather.execute(Arrays.asList("a", "b"),
+                (connectionName, connection) -> connectionName.toUpperCase());
+        assertTrue(result.isComplete());
+        assertEquals("A", result.getResults().get("a"));
+        assertEquals("B", result.getResults().get("b"));
+    }
+
+    @Test
+    public void testDuplicateConnectionRunsOnce() {
+
+        createConnection("a", new TestConnectionFactory());
+        AtomicInteger executions = new AtomicInteger();
+        ScatterGather<String> scatterGather = new ScatterGather<>(CONNECTOR, 2, 1000, executor);
+        GatherResult<String> result = scatterGather.execute(Arrays.asList("a", "a"), (connectionName, connection) -> {
+            executions.incrementAndGet();
+            return connectionName;
+        });
+        assertTrue(result.isComplete());
+        assertEquals(1, executions.get());
+        assertEquals(Collections.singletonMap("a", "a"), result.getResults());
+    }
+
+    @Test
+    public void testTimedOutBranchIsCancelled() throws InterruptedException {
+
+        TestConnectionFactory factory = new TestConnectionFactory();
+        createConnection("slow", factory);
+        createConnection("fast", new TestConnectionFactory());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ScatterGather<String> scatterGather = new ScatterGather<>(CONNECTOR, 1, 100, executor);
+        GatherResult<String> result = scatterGather.execute(Collections.singletonList("slow"),
+                (connectionName, connection) -> {
+                    try {
+                        Thread.sleep(10000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new ConnectException(e, "Interrupted");
+                    }
+                    return connectionName;
+                });
+        assertEquals(Collections.singletonList("slow"), result.getTimedOut());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        long end = System.currentTimeMillis() + 1000;
+        while (factory.destroyed.get() == 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        // The connection of the cancelled branch is not reused
+        assertEquals(1, factory.destroyed.get());
+
+        // The permit of the cancelled branch is available again
+        GatherResult<String> next = scatterGather.execute(Collections.singletonList("fast"),
+                (connectionName, connection) -> connectionName);
+        assertTrue(next.isComplete());
+    }
+
+    private static void createConnection(String connectionName, TestConnectionFactory factory) {
+
+        ConnectionHandler.getConnectionHandler().createConnection(CONNECTOR, connectionName, factory,
+                new Configuration());
+    }
+
+    private static class TestConnectionFactory implements ConnectionFactory {
+
+        private final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object makeObject() {
+
+            return new Connection() {
+
+                @Override
+                public void connect(ConnectionConfig config) {
+
+                }
+
+                @Override
+                public void close() {
+
+                }
+            };
+        }
+
+        @Override
+        public void destroyObject(Object obj) {
+
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public boolean validateObject(Object obj) {
+
+            return true;
+        }
+
+        @Override
+        public void activateObject(Object obj) {
+
+        }
+
+        @Override
+        public void passivateObject(Object obj) {
+
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+import org.junit.Test;
+import org.wso2.integration.connector.core.pool.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrencyLimiterTest {
+
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void testRejectsAboveLimit() {
+
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.onSuccess(FAST_RTT);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testDroppedReducesLimit() {
+
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100);
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    public void testIgnoredKeepsLimit() {
+
+        ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(20, 1, 100);
+        assertTrue(limiter.tryAcquire());
+        limiter.onIgnored();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    public void testGradientShrinksWhenLatencyGrows() {
+
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            complete(limiter, 20, FAST_RTT);
+        }
+        int steadyLimit = limiter.getLimit();
+        for (int i = 0; i < 50; i++) {
+            complete(limiter, limiter.getLimit(), SLOW_RTT);
+        }
+        assertTrue(limiter.getLimit() < steadyLimit);
+    }
+
+    @Test
+    public void testGradientDoesNotGrowWhenUnderused() {
+
+        ConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            complete(limiter, 1, FAST_RTT);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    public void testVegasGrowsWithoutQueueing() {
+
+        ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(20, 1, 100);
+        for (int i = 0; i < 20; i++) {
+            complete(limiter, limiter.getLimit(), FAST_RTT);
+        }
+        assertTrue(limiter.getLimit() > 20);
+    }
+
+    @Test
+    public void testVegasShrinksWhenQueueing() {
+
+        ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(50, 1, 100);
+        complete(limiter, 50, FAST_RTT);
+        for (int i = 0; i < 20; i++) {
+            complete(limiter, limiter.getLimit(), SLOW_RTT);
+        }
+        assertTrue(limiter.getLimit() < 50);
+    }
+
+    @Test
+    public void testLimitStaysWithinBounds() {
+
+        ConcurrencyLimiter limiter = new VegasConcurrencyLimiter(5, 2, 8);
+        for (int i = 0; i < 100; i++) {
+            complete(limiter, limiter.getLimit(), FAST_RTT);
+        }
+        assertEquals(8, limiter.getLimit());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void testCreateFromConfiguration() {
+
+        Configuration configuration = new Configuration();
+        configuration.setConcurrencyLimitAlgorithm("vegas");
+        assertTrue(ConcurrencyLimiter.create(configuration) instanceof VegasConcurrencyLimiter);
+        configuration.setConcurrencyLimitAlgorithm("unknown");
+        assertTrue(ConcurrencyLimiter.create(configuration) instanceof GradientConcurrencyLimiter);
+    }
+
+    /**
+     * Completes an operation while the given number of operations are in flight.
+     */
+    private static void complete(ConcurrencyLimiter limiter, int inFlight, long rttNanos) {
+
+        int acquired = 0;
+        while (acquired < inFlight && limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            if (i == 0) {
+                limiter.onSuccess(rttNanos);
+            } else {
+                limiter.onIgnored();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.limiter;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void testBurstCapacity() {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 3);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testRefill() throws InterruptedException {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        Thread.sleep(100);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testTimedAcquireWaitsForPermit() throws InterruptedException {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1);
+        assertTrue(limiter.tryAcquire());
+        long start = System.nanoTime();
+        assertTrue(limiter.tryAcquire(1, TimeUnit.SECONDS));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Waited " + waitedMillis + " ms", waitedMillis >= 50);
+    }
+
+    @Test
+    public void testTimedAcquireRejectsWithoutWaiting() throws InterruptedException {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1);
+        assertTrue(limiter.tryAcquire());
+        long start = System.nanoTime();
+        assertFalse(limiter.tryAcquire(100, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+    }
+
+    @Test
+    public void testTimedAcquireInterrupted() {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1);
+        assertTrue(limiter.tryAcquire());
+        Thread.currentThread().interrupt();
+        try {
+            limiter.tryAcquire(5, TimeUnit.SECONDS);
+            throw new AssertionError("Expected an InterruptedException");
+        } catch (InterruptedException e) {
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Test
+    public void testConcurrentAcquireHandsOutBurstOnly() throws InterruptedException {
+
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.1, 10);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 100; j++) {
+                        if (limiter.tryAcquire()) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10, acquired.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() {
+
+        new TokenBucketRateLimiter(0, 1);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.pagination;
+
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.connection.Connection;
+import org.wso2.integration.connector.core.connection.ConnectionConfig;
+import org.wso2.integration.connector.core.connection.ConnectionHandler;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+import org.wso2.integration.connector.core.pool.Configuration;
+import org.wso2.integration.connector.core.pool.ConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PagePrefetcherTest {
+
+    private static final String CONNECTOR = "pagePrefetcherTest";
+    private static final String CONNECTION = "pages";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final TestConnectionFactory factory = new TestConnectionFactory();
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+        ConnectionHandler.getConnectionHandler().shutdownConnections(CONNECTOR);
+    }
+
+    @Test
+    public void testReadsAllPagesInOrder() {
+
+        createConnection();
+        List<Integer> pages = new ArrayList<>();
+        try (PagePrefetcher<Integer, Integer> prefetcher = new PagePrefetcher<>(CONNECTOR, CONNECTION, 0,
+                (connection, cursor) -> cursor, lastPage(4), 2, executor)) {
+            for (Integer page : prefetcher) {
+                pages.add(page);
+            }
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), pages);
+    }
+
+    @Test
+    public void testReadAheadIsBounded() throws Exception {
+
+        createConnection();
+        AtomicInteger fetches = new AtomicInteger();
+        try (PagePrefetcher<Integer, Integer> prefetcher = new PagePrefetcher<>(CONNECTOR, CONNECTION, 0,
+                (connection, cursor) -> {
+                    fetches.incrementAndGet();
+                    return cursor;
+                }, page -> page + 1, 2, executor)) {
+            assertEquals(Integer.valueOf(0), prefetcher.nextPage());
+            Thread.sleep(300);
+            // The consumed page and the two pages read ahead of the consumer
+            assertEquals(3, fetches.get());
+
+            assertEquals(Integer.valueOf(1), prefetcher.nextPage());
+            Thread.sleep(300);
+            assertEquals(4, fetches.get());
+        }
+    }
+
+    @Test
+    public void testFetchErrorReachesConsumer() throws ConnectException {
+
+        createConnection();
+        ConnectException error = new ConnectException("Page unavailable");
+        try (PagePrefetcher<Integer, Integer> prefetcher = new PagePrefetcher<>(CONNECTOR, CONNECTION, 0,
+                (connection, cursor) -> {
+                    if (cursor == 1) {
+                        throw error;
+                    }
+                    return cursor;
+                }, lastPage(4), 2, executor)) {
+            assertEquals(Integer.valueOf(0), prefetcher.nextPage());
+            try {
+                prefetcher.nextPage();
+                fail("expected ConnectException");
+            } catch (ConnectException e) {
+                assertSame(error, e);
+            }
+        }
+    }
+
+    @Test
+    public void testDeadlineExceededWhileWaitingForPage() throws ConnectException {
+
+        createConnection();
+        try (PagePrefetcher<Integer, Integer> prefetcher = new PagePrefetcher<>(CONNECTOR, CONNECTION, 0,
+                (connection, cursor) -> {
+                    sleep(10000);
+                    return cursor;
+                }, lastPage(4), 2, executor, Deadline.after(100))) {
+            long start = System.currentTimeMillis();
+            try {
+                prefetcher.nextPage();
+                fail("expected DeadlineExceededException");
+            } catch (DeadlineExceededException e) {
+                assertTrue(System.currentTimeMillis() - start < 5000);
+            }
+        }
+    }
+
+    @Test
+    public void testCloseCancelsInFlightFetch() throws Exception {
+
+        createConnection();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger fetches = new AtomicInteger();
+        PagePrefetcher<Integer, Integer> prefetcher = new PagePrefetcher<>(CONNECTOR, CONNECTION, 0,
+                (connection, cursor) -> {
+                    fetches.incrementAndGet();
+                    started.countDown();
+                    try {
+                        Thread.sleep(10000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new ConnectException(e, "Interrupted");
+                    }
+                    return cursor;
+                }, lastPage(4), 2, executor);
+        Future<Integer> consumer = executor.submit(prefetcher::nextPage);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        prefetcher.close();
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertNull(consumer.get(1, TimeUnit.SECONDS));
+        long end = System.currentTimeMillis() + 1000;
+        while (factory.destroyed.get() == 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        // The connection of the cancelled fetch is not reused
+        assertEquals(1, factory.destroyed.get());
+        assertNull(prefetcher.nextPage());
+        Thread.sleep(100);
+        assertEquals(1, fetches.get());
+    }
+
+    private void createConnection() {
+
+        ConnectionHandler.getConnectionHandler().createConnection(CONNECTOR, CONNECTION, factory,
+                new Configuration());
+    }
+
+    private static PagePrefetcher.CursorExtractor<Integer, Integer> lastPage(int last) {
+
+        return page -> page < last ? page + 1 : null;
+    }
+
+    private static void sleep(long millis) throws ConnectException {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted");
+        }
+    }
+
+    private static class TestConnectionFactory implements ConnectionFactory {
+
+        private final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object makeObject() {
+
+            return new Connection() {
+
+                @Override
+                public void connect(ConnectionConfig config) {
+
+                }
+
+                @Override
+                public void close() {
+
+                }
+            };
+        }
+
+        @Override
+        public void destroyObject(Object obj) {
+
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public boolean validateObject(Object obj) {
+
+            return true;
+        }
+
+        @Override
+        public void activateObject(Object obj) {
+
+        }
+
+        @Override
+        public void passivateObject(Object obj) {
+
+        }
+    }
+}
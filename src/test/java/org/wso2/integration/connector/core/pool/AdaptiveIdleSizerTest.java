@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.pool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveIdleSizerTest {
+
+    private ConnectionPool pool;
+    private AdaptiveIdleSizer sizer;
+
+    @Before
+    public void setUp() {
+
+        Configuration configuration = new Configuration();
+        configuration.setMaxActiveConnections(20);
+        configuration.setMaxIdleConnections(10);
+        configuration.setMinIdleConnections(2);
+        configuration.setAdaptiveSizingWindowMillis(60000);
+        configuration.setAdaptiveSizingWindowCount(3);
+        configuration.setAdaptiveIdleHeadroomPercent(0);
+        ConnectionFactory factory = new TestConnectionFactory();
+        pool = new ConnectionPool(factory, configuration);
+        // Resized by the test instead of the scheduler
+        sizer = new AdaptiveIdleSizer(pool, new CreationTimedConnectionFactory(factory), configuration);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        pool.close();
+    }
+
+    @Test
+    public void testGrowsToSteadyDemand() {
+
+        completeWindow(6);
+        completeWindow(6);
+
+        assertEquals(6, pool.getMaxIdle());
+        assertEquals(6, pool.getMinIdle());
+    }
+
+    @Test
+    public void testCreatesConnectionsAheadOfDemand() {
+
+        completeWindow(3);
+
+        // The demand of 3 connections grew within the window, hence 3 more are expected over the next one
+        assertEquals(6, pool.getMinIdle());
+        assertEquals(6, pool.getNumIdle());
+    }
+
+    @Test
+    public void testGrowsAheadOfRisingDemand() {
+
+        completeWindow(2);
+        completeWindow(4);
+
+        // The growth of the last window is expected to continue over the next one
+        assertEquals(6, pool.getMaxIdle());
+    }
+
+    @Test
+    public void testShrinksOnceDemandLeavesTheWindows() {
+
+        completeWindow(6);
+        completeWindow(6);
+        completeWindow(1);
+        completeWindow(1);
+        // The peak of 6 is still within the last three windows
+        assertEquals(6, pool.getMaxIdle());
+
+        completeWindow(1);
+        assertEquals(2, pool.getMaxIdle());
+        assertEquals(2, pool.getMinIdle());
+    }
+
+    @Test
+    public void testClampedToConfiguredMaximum() {
+
+        completeWindow(15);
+        completeWindow(15);
+
+        assertEquals(10, pool.getMaxIdle());
+        assertEquals(10, pool.getMinIdle());
+    }
+
+    @Test
+    public void testClampedToConfiguredMinimum() {
+
+        completeWindow(0);
+        completeWindow(0);
+
+        assertEquals(2, pool.getMaxIdle());
+        assertEquals(2, pool.getMinIdle());
+        assertEquals(2, pool.getNumIdle());
+    }
+
+    @Test
+    public void testMinIdleLeavesOutActiveConnections() throws Exception {
+
+        completeWindow(6);
+        Object connection1 = pool.borrowObject();
+        Object connection2 = pool.borrowObject();
+        completeWindow(6);
+
+        assertEquals(6, pool.getMaxIdle());
+        assertEquals(4, pool.getMinIdle());
+        pool.returnObject(connection1);
+        pool.returnObject(connection2);
+    }
+
+    /**
+     * Completes a sizing window with the given peak of concurrently borrowed connections.
+     */
+    private void completeWindow(int peak) {
+
+        sizer.recordActive(peak);
+        sizer.resize();
+    }
+
+    private static class TestConnectionFactory implements ConnectionFactory {
+
+        @Override
+        public Object makeObject() {
+
+            return new Object();
+        }
+
+        @Override
+        public void destroyObject(Object obj) {
+
+        }
+
+        @Override
+        public boolean validateObject(Object obj) {
+
+            return true;
+        }
+
+        @Override
+        public void activateObject(Object obj) {
+
+        }
+
+        @Override
+        public void passivateObject(Object obj) {
+
+        }
+    }
+}
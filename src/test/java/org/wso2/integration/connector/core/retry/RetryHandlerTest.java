@@ -0,0 +1,171 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.retry;
+
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.pool.Configuration;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryHandlerTest {
+
+    @Test
+    public void testRetriesIOFailures() throws ConnectException {
+
+        RetryHandler retryHandler = new RetryHandler(configuration(3));
+        AtomicInteger attempts = new AtomicInteger();
+        String result = retryHandler.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConnectException(new IOException("Connection reset"), "Attempt failed");
+            }
+            return "done";
+        });
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testStopsAfterMaxRetries() {
+
+        RetryHandler retryHandler = new RetryHandler(configuration(2));
+        AtomicInteger attempts = new AtomicInteger();
+        ConnectException failure = new ConnectException(new IOException("Connection refused"), "Attempt failed");
+        try {
+            retryHandler.execute(() -> {
+                attempts.incrementAndGet();
+                throw failure;
+            });
+            fail("Expected the failure of the last attempt");
+        } catch (ConnectException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryRejections() {
+
+        RetryHandler retryHandler = new RetryHandler(configuration(3));
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            retryHandler.execute(() -> {
+                attempts.incrementAndGet();
+                throw new ConnectException("Concurrency limit reached");
+            });
+            fail("Expected the rejection");
+        } catch (ConnectException e) {
+            assertEquals(1, attempts.get());
+        }
+    }
+
+    @Test
+    public void testConfiguredRetryableExceptions() {
+
+        Configuration configuration = configuration(1);
+        configuration.setRetryableExceptions(" java.lang.IllegalStateException , ");
+        RetryHandler retryHandler = new RetryHandler(configuration);
+        assertTrue(retryHandler.isRetryable(new ConnectException(new IllegalStateException())));
+        assertTrue(retryHandler.isRetryable(new ConnectException(new java.net.SocketTimeoutException())));
+        assertFalse(retryHandler.isRetryable(new ConnectException(new IllegalArgumentException())));
+    }
+
+    @Test
+    public void testDoesNotRetryBeyondDeadline() {
+
+        Configuration configuration = configuration(5);
+        configuration.setRetryInitialBackoffMillis(10000);
+        configuration.setRetryMaxBackoffMillis(10000);
+        RetryHandler retryHandler = new RetryHandler(configuration);
+        AtomicInteger attempts = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        try {
+            retryHandler.execute(() -> {
+                // A zero backoff can be drawn by the jitter, hence fail quickly once the deadline is short
+                attempts.incrementAndGet();
+                throw new ConnectException(new IOException("Read timed out"), "Attempt failed");
+            }, Deadline.after(50));
+            fail("Expected the failure of the last attempt");
+        } catch (ConnectException e) {
+            assertTrue(System.currentTimeMillis() - start < 1000);
+        }
+    }
+
+    @Test
+    public void testRetryBudgetBoundsRetries() {
+
+        Configuration configuration = configuration(10);
+        configuration.setRetryBudgetPercent(0);
+        configuration.setRetryBudgetMinRetries(2);
+        RetryHandler retryHandler = new RetryHandler(configuration);
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            retryHandler.execute(() -> {
+                attempts.incrementAndGet();
+                throw new ConnectException(new IOException("Connection reset"), "Attempt failed");
+            });
+            fail("Expected the failure of the last attempt");
+        } catch (ConnectException e) {
+            assertEquals(3, attempts.get());
+        }
+    }
+
+    @Test
+    public void testRetryBudgetRatio() {
+
+        RetryBudget retryBudget = new RetryBudget(20, 0, 10000);
+        for (int i = 0; i < 10; i++) {
+            retryBudget.recordRequest();
+        }
+        assertTrue(retryBudget.tryRetry());
+        assertTrue(retryBudget.tryRetry());
+        assertFalse(retryBudget.tryRetry());
+        for (int i = 0; i < 5; i++) {
+            retryBudget.recordRequest();
+        }
+        assertTrue(retryBudget.tryRetry());
+        assertFalse(retryBudget.tryRetry());
+    }
+
+    @Test
+    public void testRetryBudgetWindowExpires() throws InterruptedException {
+
+        RetryBudget retryBudget = new RetryBudget(0, 1, 100);
+        assertTrue(retryBudget.tryRetry());
+        assertFalse(retryBudget.tryRetry());
+        Thread.sleep(150);
+        assertTrue(retryBudget.tryRetry());
+    }
+
+    private static Configuration configuration(int retryCount) {
+
+        Configuration configuration = new Configuration();
+        configuration.setRetryCount(retryCount);
+        configuration.setRetryInitialBackoffMillis(1);
+        configuration.setRetryMaxBackoffMillis(5);
+        return configuration;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.integration.connector.core.util;
+
+import org.junit.Test;
+import org.wso2.integration.connector.core.ConnectException;
+import org.wso2.integration.connector.core.Deadline;
+import org.wso2.integration.connector.core.exception.DeadlineExceededException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareExecution() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "result";
+            }));
+            waitForInFlight(singleFlight, "key");
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                return "other";
+            }));
+            Thread.sleep(50);
+            release.countDown();
+            assertEquals("result", leader.get(1, TimeUnit.SECONDS));
+            assertEquals("result", follower.get(1, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            assertNull(singleFlight.getInFlight("key"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentKeysExecuteIndependently() throws ConnectException {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        assertEquals("a", singleFlight.execute("a", () -> singleFlight.execute("b", () -> "b").replace("b", "a")));
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotCached() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        ConnectException error = new ConnectException("failed");
+        try {
+            singleFlight.execute("key", () -> {
+                throw error;
+            });
+            fail("Expected the task to fail");
+        } catch (ConnectException e) {
+            assertSame(error, e);
+        }
+        assertEquals("retried", singleFlight.execute("key", () -> "retried"));
+    }
+
+    @Test
+    public void testErrorIsPropagatedToWaitingCallers() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw new AssertionError("failed");
+            }));
+            waitForInFlight(singleFlight, "key");
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "other"));
+            Thread.sleep(50);
+            release.countDown();
+            assertCause(leader, AssertionError.class);
+            assertCause(follower, AssertionError.class);
+            assertNull(singleFlight.getInFlight("key"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaitingCallerStopsAtDeadline() throws Exception {
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                return "result";
+            }));
+            waitForInFlight(singleFlight, "key");
+            try {
+                singleFlight.execute("key", () -> "other", Deadline.after(50));
+                fail("Expected the deadline to be exceeded");
+            } catch (DeadlineExceededException e) {
+                // expected
+            }
+            release.countDown();
+            assertEquals("result", leader.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws ConnectException {
+
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new ConnectException("Timed out waiting for the latch.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException(e, "Interrupted");
+        }
+    }
+
+    private static void waitForInFlight(SingleFlight<String, ?> singleFlight, String key)
+            throws InterruptedException {
+
+        long end = System.currentTimeMillis() + 5000;
+        while (singleFlight.getInFlight(key) == null && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+        assertTrue(singleFlight.getInFlight(key) != null);
+    }
+
+    private static void assertCause(Future<?> future, Class<? extends Throwable> type) throws Exception {
+
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Expected the execution to fail");
+        } catch (ExecutionException e) {
+            assertTrue(type.isInstance(e.getCause()));
+        }
+    }
+}